@@ -0,0 +1,54 @@
+package maksym.fedorenko.bookstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.dto.book.BookDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookJsonBenchmark {
+    @Param({"20", "100"})
+    private int size;
+    private final ObjectWriter writer = JsonMapper.builder()
+            .findAndAddModules()
+            .build()
+            .writerFor(new TypeReference<List<BookDto>>() {
+            });
+    private List<BookDto> books;
+
+    @Setup
+    public void setUp() {
+        books = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            books.add(new BookDto(i, "Book " + i, "Author " + i, "978000000" + i,
+                    BigDecimal.valueOf(i * 100 + 99, 2), "Description of book " + i,
+                    "https://example.com/covers/" + i + ".jpg", List.of(1L, 2L, 3L)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(books);
+    }
+}
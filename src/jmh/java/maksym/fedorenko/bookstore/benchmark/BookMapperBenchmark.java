@@ -0,0 +1,60 @@
+package maksym.fedorenko.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.dto.book.BookDto;
+import maksym.fedorenko.bookstore.mapper.BookMapper;
+import maksym.fedorenko.bookstore.mapper.BookMapperImpl;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMapperBenchmark {
+    @Param({"0", "3", "20"})
+    private int categories;
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        Set<Category> bookCategories = new HashSet<>();
+        for (long i = 1; i <= categories; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName("Category " + i);
+            bookCategories.add(category);
+        }
+        book = new Book();
+        book.setId(1L);
+        book.setTitle("Effective Java");
+        book.setAuthor("Joshua Bloch");
+        book.setIsbn("9780134685991");
+        book.setPrice(BigDecimal.valueOf(45.99));
+        book.setDescription("Best practices for the Java platform");
+        book.setCoverImage("https://example.com/effective-java.jpg");
+        book.setCategories(bookCategories);
+    }
+
+    @Benchmark
+    public BookDto toDto() {
+        return bookMapper.toDto(book);
+    }
+}
@@ -0,0 +1,42 @@
+package maksym.fedorenko.bookstore.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.dto.book.BookSearchParametersDto;
+import maksym.fedorenko.bookstore.repository.book.BookSearchPredicateConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSearchPredicateBenchmark {
+    private final BookSearchPredicateConstructor predicateConstructor =
+            new BookSearchPredicateConstructor();
+    private final BookSearchParametersDto titleOnly =
+            new BookSearchParametersDto("java", null, null, null, null);
+    private final BookSearchParametersDto allParameters = new BookSearchParametersDto(
+            "java", new String[] {"Joshua Bloch", "Brian Goetz"}, null,
+            BigDecimal.TEN, BigDecimal.valueOf(100));
+
+    @Benchmark
+    public Predicate constructTitleOnly() {
+        return predicateConstructor.construct(titleOnly);
+    }
+
+    @Benchmark
+    public Predicate constructAllParameters() {
+        return predicateConstructor.construct(allParameters);
+    }
+}
@@ -0,0 +1,56 @@
+package maksym.fedorenko.bookstore.benchmark;
+
+import io.jsonwebtoken.Claims;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.model.Role;
+import maksym.fedorenko.bookstore.model.User;
+import maksym.fedorenko.bookstore.security.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "somesecretkey-10-=1=falkaflk91900913fkjaf19080";
+    private static final long EXPIRATION = 3_600_000;
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 10_000);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        Role role = new Role();
+        role.setName(Role.RoleName.USER);
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@gmail.com");
+        user.setRoles(Set.of(role));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseCachedToken() {
+        return jwtUtil.parseToken(token);
+    }
+}
@@ -0,0 +1,54 @@
+package maksym.fedorenko.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.mapper.OrderItemMapperImpl;
+import maksym.fedorenko.bookstore.mapper.OrderMapper;
+import maksym.fedorenko.bookstore.mapper.OrderMapperImpl;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.model.CartItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+    @Param({"1", "10", "100"})
+    private int items;
+    private final OrderMapper orderMapper = new OrderMapperImpl(new OrderItemMapperImpl());
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        cartItems = new ArrayList<>(items);
+        for (int i = 1; i <= items; i++) {
+            Book book = new Book();
+            book.setId((long) i);
+            book.setPrice(new BigDecimal("%d.99".formatted(i % 50 + 1)));
+            CartItem cartItem = new CartItem();
+            cartItem.setBook(book);
+            cartItem.setQuantity(i % 5 + 1);
+            cartItems.add(cartItem);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalPrice() {
+        return orderMapper.totalPrice(cartItems);
+    }
+}
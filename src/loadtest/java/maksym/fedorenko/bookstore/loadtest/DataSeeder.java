@@ -0,0 +1,182 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+import maksym.fedorenko.bookstore.model.IdGenerators;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class DataSeeder {
+    public static final String PASSWORD = "loadtest-password";
+    public static final List<String> TITLE_WORDS = List.of(
+            "Java", "Spring", "Kotlin", "Patterns", "Concurrency", "Databases",
+            "Design", "Systems", "Algorithms", "Networks", "Security", "Cloud");
+    private static final int CATEGORIES = 50;
+    private static final int AUTHORS = 5000;
+    private static final int BATCH_SIZE = 5000;
+    private static final int BCRYPT_STRENGTH = 10;
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public DataSeeder(String jdbcUrl, String user, String password) {
+        this.jdbcUrl = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?")
+                + "rewriteBatchedStatements=true";
+        this.user = user;
+        this.password = password;
+    }
+
+    public static String email(int userIndex) {
+        return "user" + userIndex + "@loadtest.io";
+    }
+
+    public long seed(int books, int users) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            connection.setAutoCommit(false);
+            long firstCategoryId = nextId(connection, "categories");
+            insertCategories(connection, firstCategoryId);
+            long firstBookId = nextId(connection, "books");
+            insertBooks(connection, firstBookId, books, firstCategoryId);
+            linkAuthors(connection);
+            insertUsers(connection, nextId(connection, "users"), users);
+            for (String table : List.of("categories", "books", "users")) {
+                resetIdGenerator(connection, table);
+            }
+            connection.commit();
+            return firstBookId;
+        }
+    }
+
+    private void insertCategories(Connection connection, long firstId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO categories (id, name, description) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < CATEGORIES; i++) {
+                statement.setLong(1, firstId + i);
+                statement.setString(2, "Category " + i);
+                statement.setString(3, "Load test category " + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void insertBooks(Connection connection, long firstId, int count, long firstCategoryId)
+            throws SQLException {
+        try (PreparedStatement books = connection.prepareStatement(
+                "INSERT INTO books (id, title, author, isbn, price, description, cover_image) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+                PreparedStatement categories = connection.prepareStatement(
+                        "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                books.setLong(1, id);
+                books.setString(2, "%s %s %d".formatted(randomWord(), randomWord(), i));
+                books.setString(3, "Author " + random.nextInt(AUTHORS));
+                books.setString(4, "LT-%010d".formatted(id));
+                books.setBigDecimal(5, BigDecimal.valueOf(random.nextInt(500, 10000), 2));
+                books.setString(6, "Load test book about " + randomWord().toLowerCase());
+                books.setString(7, "https://example.com/covers/" + id + ".jpg");
+                books.addBatch();
+                long category = random.nextInt(CATEGORIES);
+                categories.setLong(1, id);
+                categories.setLong(2, firstCategoryId + category);
+                categories.addBatch();
+                categories.setLong(1, id);
+                categories.setLong(2, firstCategoryId + (category + 1) % CATEGORIES);
+                categories.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == count - 1) {
+                    books.executeBatch();
+                    categories.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private void linkAuthors(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                    "INSERT IGNORE INTO authors (name) SELECT DISTINCT author FROM books");
+            statement.executeUpdate("INSERT IGNORE INTO books_authors (book_id, author_id) "
+                    + "SELECT b.id, a.id FROM books b JOIN authors a ON a.name = b.author");
+        }
+        connection.commit();
+    }
+
+    private void insertUsers(Connection connection, long firstId, int count) throws SQLException {
+        String hash = new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode(PASSWORD);
+        long roleId = findUserRoleId(connection);
+        try (PreparedStatement users = connection.prepareStatement(
+                "INSERT INTO users (id, email, password, first_name, last_name, "
+                        + "shipping_address) VALUES (?, ?, ?, ?, ?, ?)");
+                PreparedStatement roles = connection.prepareStatement(
+                        "INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)");
+                PreparedStatement carts = connection.prepareStatement(
+                        "INSERT INTO shopping_carts (id) VALUES (?)")) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                users.setLong(1, id);
+                users.setString(2, email(i));
+                users.setString(3, hash);
+                users.setString(4, "Load");
+                users.setString(5, "User" + i);
+                users.setString(6, "Load test street " + i);
+                users.addBatch();
+                roles.setLong(1, id);
+                roles.setLong(2, roleId);
+                roles.addBatch();
+                carts.setLong(1, id);
+                carts.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == count - 1) {
+                    users.executeBatch();
+                    roles.executeBatch();
+                    carts.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private long findUserRoleId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "SELECT id FROM roles WHERE name = 'USER'")) {
+            if (!resultSet.next()) {
+                throw new IllegalStateException("USER role is missing, run the migrations first");
+            }
+            return resultSet.getLong(1);
+        }
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void resetIdGenerator(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE %s SET %s = (SELECT COALESCE(MAX(id), 0) + %d FROM %s) WHERE %s = ?"
+                        .formatted(IdGenerators.TABLE, IdGenerators.VALUE_COLUMN,
+                                IdGenerators.ALLOCATION_SIZE, table,
+                                IdGenerators.SEGMENT_COLUMN))) {
+            statement.setString(1, table);
+            statement.executeUpdate();
+        }
+    }
+
+    private String randomWord() {
+        return TITLE_WORDS.get(random.nextInt(TITLE_WORDS.size()));
+    }
+}
@@ -0,0 +1,73 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import maksym.fedorenko.bookstore.OnlineBookStoreApplication;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class EmbeddedEnvironment implements AutoCloseable {
+    private static final String DATABASE = "book_store_load_test";
+    private static final String JWT_SECRET = "load-test-secret-key-0123456789-abcdefghijklmnop";
+    private final DB database;
+    private final String jdbcUrl;
+    private ConfigurableApplicationContext application;
+
+    private EmbeddedEnvironment(DB database, String jdbcUrl) {
+        this.database = database;
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    public static EmbeddedEnvironment start() throws ManagedProcessException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        config.addArg("--max_connections=512");
+        config.addArg("--innodb_buffer_pool_size=512M");
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        DBConfiguration configuration = config.build();
+        DB database = DB.newEmbeddedDB(configuration);
+        database.start();
+        String jdbcUrl = "jdbc:mysql://localhost:%d/%s?createDatabaseIfNotExist=true"
+                .formatted(configuration.getPort(), DATABASE);
+        return new EmbeddedEnvironment(database, jdbcUrl);
+    }
+
+    public String startApplication(String profiles) {
+        application = new SpringApplicationBuilder(OnlineBookStoreApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=" + profiles,
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=root",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=" + JWT_SECRET,
+                "--jwt.expiration=86400000",
+                "--rate-limit.groups=",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    public void rebuildSearchIndex() {
+        application.getBean(BookSearchIndex.class).rebuild();
+    }
+
+    public String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        if (application != null) {
+            application.close();
+        }
+        database.stop();
+    }
+}
@@ -0,0 +1,51 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+public class LatencyReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final String ROW = "%-13s %10s %10s %9s %9s %9s %9s %9s %8s%n";
+    private final Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, Long> errors = new EnumMap<>(Scenario.class);
+    private final Duration duration;
+
+    public LatencyReport(Duration duration) {
+        this.duration = duration;
+    }
+
+    public void add(Scenario scenario, Histogram histogram, long errorCount) {
+        histograms.put(scenario, histogram);
+        errors.put(scenario, errorCount);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(ROW, "scenario", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms", "errors");
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        for (Map.Entry<Scenario, Histogram> entry : histograms.entrySet()) {
+            long errorCount = errors.get(entry.getKey());
+            printRow(out, entry.getKey().name(), entry.getValue(), errorCount);
+            total.add(entry.getValue());
+            totalErrors += errorCount;
+        }
+        printRow(out, "TOTAL", total, totalErrors);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount) {
+        double throughput = histogram.getTotalCount() / (duration.toMillis() / 1000.0);
+        out.printf(ROW, name, histogram.getTotalCount(), "%.1f".formatted(throughput),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), "%.2f".formatted(histogram.getMaxValue()
+                        / MICROS_PER_MILLI), errorCount);
+    }
+
+    private String millis(Histogram histogram, double percentile) {
+        return "%.2f".formatted(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+}
@@ -0,0 +1,14 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import java.net.URI;
+import java.util.SplittableRandom;
+
+public record LoadContext(String baseUrl, long firstBookId, int books, int users) {
+    public URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    public long randomBookId(SplittableRandom random) {
+        return firstBookId + random.nextInt(books);
+    }
+}
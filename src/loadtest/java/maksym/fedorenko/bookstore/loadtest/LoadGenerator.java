@@ -0,0 +1,152 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Recorder;
+
+public class LoadGenerator {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long LOGIN_RETRY_MILLIS = 200;
+    private static final int CONCURRENT_LOGINS = 4;
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Semaphore logins = new Semaphore(CONCURRENT_LOGINS);
+    private final HttpClient client;
+    private final LoadContext context;
+    private volatile boolean running = true;
+
+    public LoadGenerator(LoadContext context) {
+        this.context = context;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder(SIGNIFICANT_DIGITS));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    public LatencyReport run(int virtualUsers, Duration warmup, Duration duration)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        CountDownLatch loggedIn = new CountDownLatch(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            int userIndex = i % context.users();
+            executor.execute(() -> runVirtualUser(userIndex, loggedIn));
+        }
+        loggedIn.await();
+        System.out.printf("%d virtual users logged in, warming up for %s%n",
+                virtualUsers, warmup);
+        Thread.sleep(warmup.toMillis());
+        resetMeasurements();
+        System.out.printf("Measuring for %s%n", duration);
+        Thread.sleep(duration.toMillis());
+        LatencyReport report = new LatencyReport(duration);
+        for (Scenario scenario : Scenario.values()) {
+            report.add(scenario, recorders.get(scenario).getIntervalHistogram(),
+                    errors.get(scenario).sum());
+        }
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        return report;
+    }
+
+    private void runVirtualUser(int userIndex, CountDownLatch loggedIn) {
+        SplittableRandom random = new SplittableRandom(userIndex);
+        String token;
+        try {
+            logins.acquire();
+            try {
+                token = login(DataSeeder.email(userIndex));
+            } finally {
+                logins.release();
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Can't log in user " + userIndex, e);
+        } finally {
+            loggedIn.countDown();
+        }
+        boolean cartHasItems = false;
+        while (running) {
+            Scenario scenario = Scenario.pick(random);
+            if (scenario == Scenario.CHECKOUT && !cartHasItems) {
+                scenario = Scenario.ADD_TO_CART;
+            }
+            HttpRequest request = scenario.request(context, random)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            boolean succeeded = execute(scenario, request);
+            if (succeeded && scenario == Scenario.ADD_TO_CART) {
+                cartHasItems = true;
+            } else if (succeeded && scenario == Scenario.CHECKOUT) {
+                cartHasItems = false;
+            }
+        }
+    }
+
+    private boolean execute(Scenario scenario, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+            if (status < 400) {
+                recorders.get(scenario).recordValue(
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                return true;
+            }
+        } catch (IOException e) {
+            // counted as an error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        errors.get(scenario).increment();
+        return false;
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(
+                Map.of("email", email, "password", DataSeeder.PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(context.uri("/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        while (true) {
+            HttpResponse<String> response =
+                    client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == TOO_MANY_REQUESTS) {
+                Thread.sleep(LOGIN_RETRY_MILLIS);
+                continue;
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Login of %s failed with status %d: %s"
+                        .formatted(email, response.statusCode(), response.body()));
+            }
+            return objectMapper.readTree(response.body()).get("token").asText();
+        }
+    }
+
+    private void resetMeasurements() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+}
@@ -0,0 +1,44 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.embedded()) {
+            try (EmbeddedEnvironment environment = EmbeddedEnvironment.start()) {
+                String baseUrl = environment.startApplication(options.profiles());
+                long firstBookId = options.firstBookId();
+                if (options.seed()) {
+                    firstBookId = seed(options, environment.jdbcUrl(), "root", "");
+                    environment.rebuildSearchIndex();
+                }
+                run(options, new LoadContext(
+                        baseUrl, firstBookId, options.books(), options.users()));
+            }
+            return;
+        }
+        long firstBookId = options.seed()
+                ? seed(options, options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword())
+                : options.firstBookId();
+        run(options, new LoadContext(
+                options.target(), firstBookId, options.books(), options.users()));
+    }
+
+    private static long seed(LoadTestOptions options, String jdbcUrl, String user,
+            String password) throws Exception {
+        System.out.printf("Seeding %d books and %d users%n", options.books(), options.users());
+        long start = System.nanoTime();
+        long firstBookId = new DataSeeder(jdbcUrl, user, password)
+                .seed(options.books(), options.users());
+        System.out.printf("Seeded in %d s%n", (System.nanoTime() - start) / 1_000_000_000);
+        return firstBookId;
+    }
+
+    private static void run(LoadTestOptions options, LoadContext context) throws Exception {
+        new LoadGenerator(context)
+                .run(options.virtualUsers(), options.warmup(), options.duration())
+                .print(System.out);
+    }
+}
@@ -0,0 +1,58 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public record LoadTestOptions(
+        String target,
+        boolean seed,
+        int books,
+        int users,
+        long firstBookId,
+        int virtualUsers,
+        Duration warmup,
+        Duration duration,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        String profiles
+) {
+    private static final String PREFIX = "--";
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX) || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(PREFIX.length(), separator), arg.substring(separator + 1));
+        }
+        String target = values.get("target");
+        String jdbcUrl = values.get("jdbc-url");
+        boolean seed = Boolean.parseBoolean(values.getOrDefault(
+                "seed", String.valueOf(target == null || jdbcUrl != null)));
+        if (seed && target != null && jdbcUrl == null) {
+            throw new IllegalArgumentException("Seeding a remote target requires --jdbc-url");
+        }
+        return new LoadTestOptions(
+                target,
+                seed,
+                Integer.parseInt(values.getOrDefault("books", "1000000")),
+                Integer.parseInt(values.getOrDefault("users", "100000")),
+                Long.parseLong(values.getOrDefault("first-book-id", "1")),
+                Integer.parseInt(values.getOrDefault("virtual-users", "64")),
+                Duration.parse(values.getOrDefault("warmup", "PT30S")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                jdbcUrl,
+                values.getOrDefault("jdbc-user", "root"),
+                values.getOrDefault("jdbc-password", ""),
+                values.getOrDefault("profiles", "")
+        );
+    }
+
+    public boolean embedded() {
+        return target == null;
+    }
+}
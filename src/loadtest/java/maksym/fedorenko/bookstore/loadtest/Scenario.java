@@ -0,0 +1,78 @@
+package maksym.fedorenko.bookstore.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+public enum Scenario {
+    BROWSE(35) {
+        @Override
+        HttpRequest.Builder request(LoadContext context, SplittableRandom random) {
+            return HttpRequest.newBuilder(context.uri(
+                    "/api/books?size=20&page=" + random.nextInt(BROWSE_PAGES))).GET();
+        }
+    },
+    BOOK_DETAILS(20) {
+        @Override
+        HttpRequest.Builder request(LoadContext context, SplittableRandom random) {
+            return HttpRequest.newBuilder(context.uri(
+                    "/api/books/" + context.randomBookId(random))).GET();
+        }
+    },
+    SEARCH(20) {
+        @Override
+        HttpRequest.Builder request(LoadContext context, SplittableRandom random) {
+            String title = DataSeeder.TITLE_WORDS.get(
+                    random.nextInt(DataSeeder.TITLE_WORDS.size()));
+            return HttpRequest.newBuilder(context.uri("/api/books/search?size=20&maxPrice=50&title="
+                    + URLEncoder.encode(title, StandardCharsets.UTF_8))).GET();
+        }
+    },
+    ADD_TO_CART(17) {
+        @Override
+        HttpRequest.Builder request(LoadContext context, SplittableRandom random) {
+            String body = "{\"bookId\":%d,\"quantity\":%d}"
+                    .formatted(context.randomBookId(random), random.nextInt(1, 4));
+            return json(context.uri("/api/cart"), body);
+        }
+    },
+    CHECKOUT(8) {
+        @Override
+        HttpRequest.Builder request(LoadContext context, SplittableRandom random) {
+            return json(context.uri("/api/orders"),
+                    "{\"shippingAddress\":\"Load test street %d\"}".formatted(random.nextInt()))
+                    .header("Idempotency-Key",
+                            new UUID(random.nextLong(), random.nextLong()).toString());
+        }
+    };
+
+    private static final int BROWSE_PAGES = 50;
+    private static final int TOTAL_WEIGHT = 100;
+    private final int weight;
+
+    Scenario(int weight) {
+        this.weight = weight;
+    }
+
+    public static Scenario pick(SplittableRandom random) {
+        int value = random.nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : values()) {
+            value -= scenario.weight;
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        return BROWSE;
+    }
+
+    abstract HttpRequest.Builder request(LoadContext context, SplittableRandom random);
+
+    private static HttpRequest.Builder json(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+}
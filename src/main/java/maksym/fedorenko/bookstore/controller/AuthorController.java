@@ -0,0 +1,42 @@
+package maksym.fedorenko.bookstore.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
+import maksym.fedorenko.bookstore.service.BookService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Author management", description = "Endpoints for mapping authors")
+@RestController
+@RequestMapping("/api/authors")
+@RequiredArgsConstructor
+@Validated
+public class AuthorController {
+    private final BookService bookService;
+
+    @Operation(
+            summary = "Retrieve books by author",
+            description = """
+                    Receiving books by specifying its author id page by page using
+                    a continuation cursor. Pass nextCursor to get the next page."""
+    )
+    @GetMapping("/{id}/books")
+    @PreAuthorize("hasRole('USER')")
+    public BookCursorPageDto getBooksByAuthorId(
+            @PathVariable @Positive Long id,
+            @RequestParam(required = false) String cursor,
+            @ParameterObject @PageableDefault Pageable pageable) {
+        return bookService.findBooksByAuthorId(id, cursor, pageable);
+    }
+}
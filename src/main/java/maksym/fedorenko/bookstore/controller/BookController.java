@@ -1,20 +1,33 @@
 package maksym.fedorenko.bookstore.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
+import maksym.fedorenko.bookstore.dto.book.BookImportResultDto;
 import maksym.fedorenko.bookstore.dto.book.BookSearchParametersDto;
 import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
 import maksym.fedorenko.bookstore.dto.book.UpdateBookRequestDto;
+import maksym.fedorenko.bookstore.service.BookImportService;
 import maksym.fedorenko.bookstore.service.BookService;
+import org.hibernate.validator.constraints.Length;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,8 +37,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for mapping books")
 @RequiredArgsConstructor
@@ -34,6 +49,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/books")
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Retrieve all books",
@@ -45,6 +62,22 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @Operation(
+            summary = "Retrieve all books by cursor",
+            description = """
+                    Receiving all books page by page using a continuation cursor.
+                    Omit the cursor for the first page and pass nextCursor to get the next one.
+                    Sorting is fixed by the first request and supports id, title, author, price"""
+    )
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public BookCursorPageDto getAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @ParameterObject @PageableDefault Pageable pageable
+    ) {
+        return bookService.findAll(cursor, pageable);
+    }
+
     @Operation(
             summary = "Retrieve a book by id",
             description = "Get a book object by specifying its id."
@@ -107,4 +140,91 @@ public class BookController {
     ) {
         return bookService.searchBooksByParameters(searchParameters, pageable);
     }
+
+    @Operation(
+            summary = "Search books by text relevance",
+            description = """
+                    Full-text search over title, author and description.
+                    Books are ranked by relevance to the query (BM25)."""
+    )
+    @GetMapping(value = "/search", params = "query")
+    @PreAuthorize("hasRole('USER')")
+    public List<BookDto> searchBooksByQuery(
+            @RequestParam @NotBlank @Length(max = 256) String query,
+            @ParameterObject @PageableDefault Pageable pageable
+    ) {
+        return bookService.searchBooksByQuery(query, pageable);
+    }
+
+    @Operation(
+            summary = "Search books by different parameters using cursor",
+            description = """
+                    Search books by title, authors and price range page by page
+                    using a continuation cursor instead of a page number."""
+    )
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public BookCursorPageDto searchBooksByCursor(
+            @Valid BookSearchParametersDto searchParameters,
+            @RequestParam(required = false) String cursor,
+            @ParameterObject @PageableDefault Pageable pageable
+    ) {
+        return bookService.searchBooksByParameters(searchParameters, cursor, pageable);
+    }
+
+    @Operation(
+            summary = "Export all books",
+            description = """
+                    Stream the whole catalog as newline-delimited JSON, one book per line.
+                    Books are read with a forward-only cursor in constant memory."""
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public StreamingResponseBody exportBooks() {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                bookService.exportBooks(book -> writeLine(writer, generator, book));
+            }
+        };
+    }
+
+    @Operation(
+            summary = "Import books from JSON",
+            description = """
+                    Create books in bulk from a JSON array or newline-delimited JSON body.
+                    Each row has the same fields as a single created book.
+                    Invalid rows are skipped and reported with their row number."""
+    )
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookImportResultDto importBooksFromJson(InputStream body) throws IOException {
+        return bookImportService.importFromJson(body);
+    }
+
+    @Operation(
+            summary = "Import books from CSV",
+            description = """
+                    Create books in bulk from a CSV body with a header row.
+                    Columns are title, author, isbn, price, description, coverImage, categoryIds;
+                    category ids are separated by a semicolon.
+                    Invalid rows are skipped and reported with their row number."""
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookImportResultDto importBooksFromCsv(InputStream body) throws IOException {
+        return bookImportService.importFromCsv(body);
+    }
+
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, BookDto book) {
+        try {
+            writer.writeValue(generator, book);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write exported book " + book.getId(), e);
+        }
+    }
 }
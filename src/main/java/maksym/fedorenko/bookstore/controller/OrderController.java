@@ -7,14 +7,17 @@ import jakarta.validation.constraints.Positive;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.OrderCursorPageDto;
 import maksym.fedorenko.bookstore.dto.order.OrderDto;
 import maksym.fedorenko.bookstore.dto.order.OrderItemDto;
 import maksym.fedorenko.bookstore.dto.order.UpdateOrderRequestDto;
 import maksym.fedorenko.bookstore.service.OrderService;
+import org.hibernate.validator.constraints.Length;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -23,9 +26,12 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -33,6 +39,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Tag(name = "Order management", description = "Endpoints for working with orders")
 public class OrderController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final OrderService orderService;
 
     @Operation(
@@ -47,17 +54,50 @@ public class OrderController {
         return orderService.findAll(authentication, pageable);
     }
 
+    @Operation(
+            summary = "Get user orders by cursor",
+            description = """
+                    Retrieving orders of the current user newest first, page by page using
+                    a continuation cursor. Pass nextCursor to get the next page."""
+    )
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public OrderCursorPageDto findAllByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @ParameterObject @PageableDefault Pageable pageable) {
+        return orderService.findAll(authentication, cursor, pageable);
+    }
+
+    @Operation(
+            summary = "Stream user order statuses",
+            description = """
+                    Server-Sent Events stream pushing status changes of the current user's
+                    orders as they happen, with periodic heartbeat comments."""
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public SseEmitter streamStatuses(Authentication authentication) {
+        return orderService.streamStatuses(authentication);
+    }
+
     @Operation(
             summary = "Place user order",
-            description = "Placing a order from the user's shopping cart."
+            description = """
+                    Placing a order from the user's shopping cart. Retries carrying the same
+                    Idempotency-Key header return the originally placed order."""
     )
     @PostMapping
     @PreAuthorize("hasRole('USER')")
     @ResponseStatus(HttpStatus.CREATED)
     public OrderDto createOrder(
             Authentication authentication,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false)
+            @Length(max = 64) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequestDto requestDto) {
-        return orderService.createOrder(authentication, requestDto);
+        return idempotencyKey == null
+                ? orderService.createOrder(authentication, requestDto)
+                : orderService.createOrder(authentication, requestDto, idempotencyKey);
     }
 
     @Operation(
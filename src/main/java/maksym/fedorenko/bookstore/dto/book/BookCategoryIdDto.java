@@ -0,0 +1,4 @@
+package maksym.fedorenko.bookstore.dto.book;
+
+public record BookCategoryIdDto(Long bookId, Long categoryId) {
+}
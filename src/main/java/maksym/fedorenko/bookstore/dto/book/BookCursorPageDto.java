@@ -0,0 +1,6 @@
+package maksym.fedorenko.bookstore.dto.book;
+
+import java.util.List;
+
+public record BookCursorPageDto(List<BookDto> books, String nextCursor) {
+}
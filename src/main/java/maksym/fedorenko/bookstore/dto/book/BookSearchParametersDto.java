@@ -7,6 +7,7 @@ import org.hibernate.validator.constraints.Length;
 public record BookSearchParametersDto(
         @Length(max = 128) String title,
         String[] author,
+        Long[] authorId,
         @Positive BigDecimal minPrice,
         @Positive BigDecimal maxPrice
 ) {
@@ -0,0 +1,4 @@
+package maksym.fedorenko.bookstore.dto.book;
+
+public record BookTextDto(Long id, String title, String author, String description) {
+}
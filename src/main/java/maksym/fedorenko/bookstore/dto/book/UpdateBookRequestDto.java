@@ -17,6 +17,7 @@ public record UpdateBookRequestDto(
         @Positive BigDecimal price,
         @Length(max = 1024) String description,
         @Length(max = 128) String coverImage,
-        @NotNull List<@Positive Long> categoryIds) {
+        @NotNull List<@Positive Long> categoryIds,
+        List<@Positive Long> authorIds) {
 
 }
@@ -0,0 +1,4 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+public record IdempotencyKeyDto(String requestHash, String response) {
+}
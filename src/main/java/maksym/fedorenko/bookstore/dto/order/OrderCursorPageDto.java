@@ -0,0 +1,6 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+import java.util.List;
+
+public record OrderCursorPageDto(List<OrderDto> orders, String nextCursor) {
+}
@@ -0,0 +1,24 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+import static maksym.fedorenko.bookstore.model.Order.Status;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+public record OrderEventDto(
+        Long id,
+        Type type,
+        Long orderId,
+        Long userId,
+        Status status,
+        @JsonRawValue
+        String order,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt,
+        int attempts) {
+    public enum Type {
+        ORDER_CREATED,
+        STATUS_CHANGED
+    }
+}
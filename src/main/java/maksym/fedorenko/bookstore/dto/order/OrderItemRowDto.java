@@ -0,0 +1,4 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+public record OrderItemRowDto(Long orderId, Long id, Long bookId, Integer quantity) {
+}
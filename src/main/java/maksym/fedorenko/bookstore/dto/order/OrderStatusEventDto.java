@@ -0,0 +1,13 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+import static maksym.fedorenko.bookstore.model.Order.Status;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+
+public record OrderStatusEventDto(
+        Long orderId,
+        Status status,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime changedAt) {
+}
@@ -0,0 +1,14 @@
+package maksym.fedorenko.bookstore.dto.order;
+
+import static maksym.fedorenko.bookstore.model.Order.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummaryDto(
+        Long id,
+        Long userId,
+        LocalDateTime orderDate,
+        BigDecimal total,
+        Status status) {
+}
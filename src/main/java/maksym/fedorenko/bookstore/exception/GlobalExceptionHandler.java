@@ -74,6 +74,35 @@ public class GlobalExceptionHandler {
         return new ErrorResponseWrapper(LocalDateTime.now(), "bad-request", ex.getMessage());
     }
 
+    @ExceptionHandler(value = InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    protected ErrorResponseWrapper handleInvalidCursorException(InvalidCursorException ex) {
+        return new ErrorResponseWrapper(LocalDateTime.now(), "bad-request", ex.getMessage());
+    }
+
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    protected ErrorResponseWrapper handleTooManyRequestsException(TooManyRequestsException ex) {
+        return new ErrorResponseWrapper(
+                LocalDateTime.now(), "too-many-requests", ex.getMessage());
+    }
+
+    @ExceptionHandler(value = IdempotencyKeyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    protected ErrorResponseWrapper handleIdempotencyKeyConflictException(
+            IdempotencyKeyConflictException ex
+    ) {
+        return new ErrorResponseWrapper(LocalDateTime.now(), "conflict", ex.getMessage());
+    }
+
+    @ExceptionHandler(value = CheckoutInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    protected ErrorResponseWrapper handleCheckoutInProgressException(
+            CheckoutInProgressException ex
+    ) {
+        return new ErrorResponseWrapper(LocalDateTime.now(), "conflict", ex.getMessage());
+    }
+
     private String getErrorMessage(ObjectError e) {
         if (e instanceof FieldError) {
             String field = ((FieldError) e).getField();
@@ -0,0 +1,7 @@
+package maksym.fedorenko.bookstore.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package maksym.fedorenko.bookstore.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
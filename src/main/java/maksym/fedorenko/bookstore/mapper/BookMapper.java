@@ -1,5 +1,6 @@
 package maksym.fedorenko.bookstore.mapper;
 
+import java.util.List;
 import maksym.fedorenko.bookstore.config.MapperConfig;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
 import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
@@ -17,6 +18,8 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 public interface BookMapper {
     BookDto toDto(Book book);
 
+    BookDto toDto(BookDtoWithoutCategories book, List<Long> categoryIds);
+
     BookDtoWithoutCategories toDtoWithoutCategories(Book book);
 
     Book toBook(CreateBookRequestDto bookRequestDto);
@@ -2,6 +2,7 @@ package maksym.fedorenko.bookstore.mapper;
 
 import maksym.fedorenko.bookstore.config.MapperConfig;
 import maksym.fedorenko.bookstore.dto.order.OrderItemDto;
+import maksym.fedorenko.bookstore.dto.order.OrderItemRowDto;
 import maksym.fedorenko.bookstore.model.CartItem;
 import maksym.fedorenko.bookstore.model.OrderItem;
 import org.mapstruct.Mapper;
@@ -12,6 +13,8 @@ public interface OrderItemMapper {
     @Mapping(target = "bookId", source = "book.id")
     OrderItemDto toDto(OrderItem orderItem);
 
+    OrderItemDto toDto(OrderItemRowDto orderItemRow);
+
     @Mapping(target = "price", source = "book.price")
     @Mapping(target = "id", ignore = true)
     OrderItem toOrderItem(CartItem cartItem);
@@ -5,6 +5,8 @@ import java.util.List;
 import maksym.fedorenko.bookstore.config.MapperConfig;
 import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
 import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.dto.order.OrderItemDto;
+import maksym.fedorenko.bookstore.dto.order.OrderSummaryDto;
 import maksym.fedorenko.bookstore.model.CartItem;
 import maksym.fedorenko.bookstore.model.Order;
 import maksym.fedorenko.bookstore.model.ShoppingCart;
@@ -19,6 +21,8 @@ public interface OrderMapper {
     @Mapping(target = "userId", source = "user.id")
     OrderDto toDto(Order order);
 
+    OrderDto toDto(OrderSummaryDto order, List<OrderItemDto> orderItems);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "orderItems", source = "cart.cartItems")
     @Mapping(target = "total", source = "cart.cartItems", qualifiedByName = "totalPrice")
@@ -0,0 +1,12 @@
+package maksym.fedorenko.bookstore.model;
+
+public final class CacheRegions {
+    public static final String ROLES = "roles";
+    public static final String CATEGORIES = "categories";
+    public static final String BOOKS = "books";
+    public static final String BOOK_CATEGORIES = "book-categories";
+    public static final String USER_ROLES = "user-roles";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,70 @@
+package maksym.fedorenko.bookstore.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String STATEMENTS_METRIC = "http.server.requests.sql.statements";
+    private static final String TIME_METRIC = "http.server.requests.sql.time";
+    private final MeterRegistry meterRegistry;
+
+    public static void writeHeaders(HttpServletResponse response) {
+        QueryCount count = QueryCountHolder.getGrandTotal();
+        response.setHeader(QUERY_COUNT_HEADER, String.valueOf(count.getTotal()));
+        response.setHeader(SERVER_TIMING_HEADER, "db;desc=\"%d statements\";dur=%d"
+                .formatted(count.getTotal(), count.getTime()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            filterChain.doFilter(request, response);
+            if (!response.isCommitted()) {
+                writeHeaders(response);
+            }
+        } finally {
+            record(request);
+            QueryCountHolder.clear();
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        QueryCount count = QueryCountHolder.getGrandTotal();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(count.getTotal());
+        Timer.builder(TIME_METRIC)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(count.getTime(), TimeUnit.MILLISECONDS);
+    }
+}
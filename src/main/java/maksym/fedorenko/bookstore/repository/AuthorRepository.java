@@ -0,0 +1,23 @@
+package maksym.fedorenko.bookstore.repository;
+
+import java.util.Collection;
+import java.util.List;
+import maksym.fedorenko.bookstore.model.Author;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+    @Query("select a.id from Author a where a.id in :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO authors (name) VALUES (:name) "
+            + "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)", nativeQuery = true)
+    void upsert(String name);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long findLastInsertId();
+}
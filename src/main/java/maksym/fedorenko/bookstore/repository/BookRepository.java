@@ -1,25 +1,59 @@
 package maksym.fedorenko.bookstore.repository;
 
-import com.querydsl.core.types.Predicate;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import maksym.fedorenko.bookstore.dto.book.BookExportRowDto;
+import maksym.fedorenko.bookstore.dto.book.BookTextDto;
 import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.book.BookProjectionRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, QuerydslPredicateExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>,
+        QuerydslPredicateExecutor<Book>, BookProjectionRepository {
     @EntityGraph(attributePaths = "categories")
     Optional<Book> findById(Long id);
 
-    @EntityGraph(attributePaths = "categories")
-    Page<Book> findAll(Pageable pageable);
+    Page<Book> findAllByCategoriesId(Long id, Pageable pageable);
 
-    @EntityGraph(attributePaths = "categories")
-    Page<Book> findAll(Predicate predicate, Pageable pageable);
+    @Query("select new maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "from Book b join b.categories c where c.id = ?1")
+    List<BookDtoWithoutCategories> findDtosByCategoryId(Long id, Pageable pageable);
 
-    Page<Book> findAllByCategoriesId(Long id, Pageable pageable);
+    @Query("select new maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "from Book b where b.id in ?1")
+    List<BookDtoWithoutCategories> findDtosByIdIn(Collection<Long> ids);
+
+    @Query("select new maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto(b.id, c.id) "
+            + "from Book b join b.categories c where b.id in ?1")
+    List<BookCategoryIdDto> findCategoryIdsByBookIdIn(Collection<Long> ids);
+
+    @Query("select new maksym.fedorenko.bookstore.dto.book.BookTextDto("
+            + "b.id, b.title, b.author, b.description) "
+            + "from Book b where b.id > ?1 order by b.id")
+    List<BookTextDto> findBookTextsAfter(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new maksym.fedorenko.bookstore.dto.book.BookExportRowDto("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage, c.id) "
+            + "from Book b left join b.categories c order by b.id")
+    Stream<BookExportRowDto> streamAllForExport();
 }
@@ -2,15 +2,12 @@ package maksym.fedorenko.bookstore.repository;
 
 import java.util.Optional;
 import maksym.fedorenko.bookstore.model.CartItem;
-import maksym.fedorenko.bookstore.model.ShoppingCart;
-import org.springframework.data.jpa.repository.EntityGraph;
+import maksym.fedorenko.bookstore.repository.shoppingcart.CartItemUpsertRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+public interface CartItemRepository extends JpaRepository<CartItem, Long>,
+        CartItemUpsertRepository {
     Optional<CartItem> findByIdAndShoppingCartUserEmail(Long id, String email);
-
-    @EntityGraph(attributePaths = "book")
-    Optional<CartItem> findByShoppingCartAndBookId(ShoppingCart cart, Long bookId);
 }
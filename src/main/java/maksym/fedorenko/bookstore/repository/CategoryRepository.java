@@ -1,9 +1,25 @@
 package maksym.fedorenko.bookstore.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import maksym.fedorenko.bookstore.model.Category;
+import maksym.fedorenko.bookstore.repository.category.CategoryCacheRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>,
+        CategoryCacheRepository {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Category> findAll(Pageable pageable);
+
+    @Query("select c.id from Category c where c.id in :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
 }
@@ -1,6 +1,9 @@
 package maksym.fedorenko.bookstore.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import maksym.fedorenko.bookstore.dto.order.OrderItemRowDto;
 import maksym.fedorenko.bookstore.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,4 +13,9 @@ import org.springframework.stereotype.Repository;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("from OrderItem i where i.id = ?1 and i.order.id = ?2 and i.order.user.email = ?3")
     Optional<OrderItem> findByIdAndOrderAndUser(Long id, Long orderId, String email);
+
+    @Query("select new maksym.fedorenko.bookstore.dto.order.OrderItemRowDto("
+            + "i.order.id, i.id, i.book.id, i.quantity) "
+            + "from OrderItem i where i.order.id in ?1 order by i.id")
+    List<OrderItemRowDto> findRowsByOrderIdIn(Collection<Long> orderIds);
 }
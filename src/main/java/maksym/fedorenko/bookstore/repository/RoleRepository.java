@@ -1,10 +1,14 @@
 package maksym.fedorenko.bookstore.repository;
 
+import jakarta.persistence.QueryHint;
 import maksym.fedorenko.bookstore.model.Role;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Role findByName(Role.RoleName name);
 }
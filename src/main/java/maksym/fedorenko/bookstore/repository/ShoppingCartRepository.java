@@ -4,10 +4,23 @@ import java.util.Optional;
 import maksym.fedorenko.bookstore.model.ShoppingCart;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     @EntityGraph(attributePaths = {"user", "cartItems", "cartItems.book"})
     Optional<ShoppingCart> findByUserEmail(String email);
+
+    @EntityGraph(attributePaths = {"user", "cartItems", "cartItems.book"})
+    Optional<ShoppingCart> findWithItemsById(Long id);
+
+    @Query(value = "SELECT id FROM shopping_carts WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO shopping_carts (id) VALUES (:id) ON DUPLICATE KEY UPDATE id = id",
+            nativeQuery = true)
+    void insertIfAbsent(Long id);
 }
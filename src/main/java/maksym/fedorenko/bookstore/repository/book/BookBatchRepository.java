@@ -0,0 +1,141 @@
+package maksym.fedorenko.bookstore.repository.book;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
+import maksym.fedorenko.bookstore.model.IdGenerators;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookBatchRepository {
+    private static final String RESERVE_IDS = "UPDATE " + IdGenerators.TABLE
+            + " SET " + IdGenerators.VALUE_COLUMN + " = LAST_INSERT_ID("
+            + IdGenerators.VALUE_COLUMN + " + ?) WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?";
+    private static final String SELECT_LAST_INSERT_ID = "SELECT LAST_INSERT_ID()";
+    private static final String BOOKS_SEGMENT = "books";
+    private static final String INSERT_BOOKS = "INSERT INTO books "
+            + "(id, title, author, isbn, price, description, cover_image) VALUES ";
+    private static final String BOOK_VALUES = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOKS_CATEGORIES =
+            "INSERT INTO books_categories (book_id, category_id) VALUES ";
+    private static final String BOOK_CATEGORY_VALUES = "(?, ?)";
+    private static final String INSERT_AUTHORS = "INSERT INTO authors (name) VALUES ";
+    private static final String AUTHOR_VALUES = "(?)";
+    private static final String ON_DUPLICATE_AUTHOR = " ON DUPLICATE KEY UPDATE id = id";
+    private static final String INSERT_BOOKS_AUTHORS_BY_NAME = """
+            INSERT INTO books_authors (book_id, author_id)
+            SELECT b.id, a.id FROM books b JOIN authors a ON a.name = b.author
+            WHERE b.id IN (:bookIds)""";
+    private static final String INSERT_BOOKS_AUTHORS =
+            "INSERT INTO books_authors (book_id, author_id) VALUES ";
+    private static final String SELECT_IDS_BY_ISBN =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<String, Long> findIdsByIsbnIn(Collection<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        if (isbns.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(SELECT_IDS_BY_ISBN, Map.of("isbns", isbns), rs -> {
+            ids.put(rs.getString("isbn"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    public long reserveIds(int count) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_IDS)) {
+                update.setInt(1, count);
+                update.setString(2, BOOKS_SEGMENT);
+                update.executeUpdate();
+            }
+            try (Statement select = connection.createStatement();
+                    ResultSet resultSet = select.executeQuery(SELECT_LAST_INSERT_ID)) {
+                resultSet.next();
+                // Hibernate stores the last id of its pooled block, so the next free id is
+                // the previously stored value minus the block size plus two.
+                return resultSet.getLong(1) - count - IdGenerators.ALLOCATION_SIZE + 2;
+            }
+        });
+    }
+
+    public Map<String, Long> insertAll(List<CreateBookRequestDto> books, long firstId) {
+        Map<String, Long> ids = new HashMap<>();
+        List<Object> args = new ArrayList<>(books.size() * 7);
+        long id = firstId;
+        for (CreateBookRequestDto book : books) {
+            ids.put(book.isbn(), id);
+            args.add(id++);
+            args.add(book.title());
+            args.add(book.author());
+            args.add(book.isbn());
+            args.add(book.price());
+            args.add(book.description());
+            args.add(book.coverImage());
+        }
+        jdbcTemplate.getJdbcTemplate().update(
+                INSERT_BOOKS + values(BOOK_VALUES, books.size()), args.toArray());
+        return ids;
+    }
+
+    public void insertCategories(List<BookCategoryIdDto> bookCategories) {
+        if (bookCategories.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(bookCategories.size() * 2);
+        for (BookCategoryIdDto bookCategory : bookCategories) {
+            args.add(bookCategory.bookId());
+            args.add(bookCategory.categoryId());
+        }
+        jdbcTemplate.getJdbcTemplate().update(INSERT_BOOKS_CATEGORIES
+                + values(BOOK_CATEGORY_VALUES, bookCategories.size()), args.toArray());
+    }
+
+    public void insertAuthors(List<CreateBookRequestDto> books, Map<String, Long> bookIds) {
+        List<Long> bookIdsByName = new ArrayList<>();
+        Set<String> names = new LinkedHashSet<>();
+        List<Object> args = new ArrayList<>();
+        for (CreateBookRequestDto book : books) {
+            Long bookId = bookIds.get(book.isbn());
+            if (book.authorIds() == null || book.authorIds().isEmpty()) {
+                bookIdsByName.add(bookId);
+                names.add(book.author());
+                continue;
+            }
+            book.authorIds().stream().distinct().forEach(authorId -> {
+                args.add(bookId);
+                args.add(authorId);
+            });
+        }
+        if (!names.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().update(INSERT_AUTHORS
+                    + values(AUTHOR_VALUES, names.size()) + ON_DUPLICATE_AUTHOR, names.toArray());
+            // Joined in SQL so names differing only in case or accents resolve to the same
+            // author the unique index on authors.name already matched them to.
+            jdbcTemplate.update(INSERT_BOOKS_AUTHORS_BY_NAME, Map.of("bookIds", bookIdsByName));
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().update(INSERT_BOOKS_AUTHORS
+                    + values(BOOK_CATEGORY_VALUES, args.size() / 2), args.toArray());
+        }
+    }
+
+    private static String values(String row, int count) {
+        return String.join(", ", Collections.nCopies(count, row));
+    }
+}
@@ -0,0 +1,110 @@
+package maksym.fedorenko.bookstore.repository.book;
+
+import static maksym.fedorenko.bookstore.model.QBook.book;
+
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import maksym.fedorenko.bookstore.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+public record BookKeyset(SortKey sortKey, Sort.Direction direction, Object lastValue, Long lastId) {
+    private static final String SEPARATOR = ",";
+    private static final int TOKEN_PARTS = 4;
+
+    public static BookKeyset first(Sort sort) {
+        Sort.Order order = sort.stream()
+                .findFirst()
+                .orElse(Sort.Order.asc("id"));
+        return new BookKeyset(SortKey.of(order.getProperty()), order.getDirection(), null, null);
+    }
+
+    public static BookKeyset decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, TOKEN_PARTS);
+            if (parts.length != TOKEN_PARTS) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            return new BookKeyset(sortKey, Sort.Direction.valueOf(parts[1]),
+                    sortKey.parser.apply(parts[3]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor, e);
+        }
+    }
+
+    public BookKeyset after(BookDtoWithoutCategories last) {
+        return new BookKeyset(sortKey, direction, sortKey.extractor.apply(last), last.id());
+    }
+
+    public String encode() {
+        String token = String.join(SEPARATOR, sortKey.name(), direction.name(),
+                String.valueOf(lastId), String.valueOf(lastValue));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Predicate predicate() {
+        if (lastId == null) {
+            return null;
+        }
+        Ops seek = direction.isAscending() ? Ops.GT : Ops.LT;
+        BooleanExpression afterId = Expressions.predicate(
+                seek, book.id, Expressions.constant(lastId));
+        if (sortKey == SortKey.ID) {
+            return afterId;
+        }
+        return Expressions.predicate(seek, sortKey.path, Expressions.constant(lastValue))
+                .or(Expressions.predicate(Ops.EQ, sortKey.path, Expressions.constant(lastValue))
+                        .and(afterId));
+    }
+
+    public OrderSpecifier<?>[] orderSpecifiers() {
+        OrderSpecifier<?> byId = direction.isAscending() ? book.id.asc() : book.id.desc();
+        if (sortKey == SortKey.ID) {
+            return new OrderSpecifier<?>[] {byId};
+        }
+        OrderSpecifier<?> byKey = direction.isAscending()
+                ? sortKey.path.asc()
+                : sortKey.path.desc();
+        return new OrderSpecifier<?>[] {byKey, byId};
+    }
+
+    public enum SortKey {
+        ID(book.id, BookDtoWithoutCategories::id, Long::valueOf),
+        TITLE(book.title, BookDtoWithoutCategories::title, value -> value),
+        AUTHOR(book.author, BookDtoWithoutCategories::author, value -> value),
+        PRICE(book.price, BookDtoWithoutCategories::price, BigDecimal::new);
+
+        private final ComparableExpressionBase<?> path;
+        private final Function<BookDtoWithoutCategories, Object> extractor;
+        private final Function<String, Object> parser;
+
+        SortKey(ComparableExpressionBase<?> path,
+                Function<BookDtoWithoutCategories, Object> extractor,
+                Function<String, Object> parser) {
+            this.path = path;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public static SortKey of(String property) {
+            return Arrays.stream(values())
+                    .filter(key -> key.name().equalsIgnoreCase(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidCursorException(
+                            "Cursor pagination doesn't support sorting by " + property));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package maksym.fedorenko.bookstore.repository.book;
+
+import com.querydsl.core.types.Predicate;
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import org.springframework.data.domain.Pageable;
+
+public interface BookProjectionRepository {
+    List<BookDtoWithoutCategories> findDtos(Predicate predicate, Pageable pageable);
+
+    List<BookDtoWithoutCategories> findDtosByKeyset(
+            Predicate predicate, BookKeyset keyset, int limit
+    );
+}
@@ -0,0 +1,48 @@
+package maksym.fedorenko.bookstore.repository.book;
+
+import static maksym.fedorenko.bookstore.model.QBook.book;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.PathBuilderFactory;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import maksym.fedorenko.bookstore.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+    private final PathBuilder<Book> bookPath = new PathBuilderFactory().create(Book.class);
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookDtoWithoutCategories> findDtos(Predicate predicate, Pageable pageable) {
+        Querydsl querydsl = new Querydsl(entityManager, bookPath);
+        return querydsl.applyPagination(pageable, selectDtos().where(predicate))
+                .fetch();
+    }
+
+    @Override
+    public List<BookDtoWithoutCategories> findDtosByKeyset(
+            Predicate predicate, BookKeyset keyset, int limit
+    ) {
+        return selectDtos()
+                .where(predicate, keyset.predicate())
+                .orderBy(keyset.orderSpecifiers())
+                .limit(limit)
+                .fetch();
+    }
+
+    private JPAQuery<BookDtoWithoutCategories> selectDtos() {
+        return new JPAQuery<Void>(entityManager)
+                .select(Projections.constructor(BookDtoWithoutCategories.class,
+                        book.id, book.title, book.author, book.isbn,
+                        book.price, book.description, book.coverImage))
+                .from(book);
+    }
+}
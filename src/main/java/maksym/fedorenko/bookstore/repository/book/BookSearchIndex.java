@@ -0,0 +1,266 @@
+package maksym.fedorenko.bookstore.repository.book;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import maksym.fedorenko.bookstore.dto.book.BookTextDto;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.BookRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory BM25 index over book titles, authors and descriptions.
+ *
+ * <p>The index lives in the JVM that built it: writes made through other application
+ * instances are only picked up by that instance's {@link #rebuild()} at startup, so search
+ * results are consistent only when the application runs as a single instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+    private static final int LIVE_PER_DELETED_TO_COMPACT = 4;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docsByBookId = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private final BookRepository bookRepository;
+    private long[] bookIds = new long[INITIAL_CAPACITY];
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            long lastId = 0;
+            List<BookTextDto> batch;
+            do {
+                batch = bookRepository.findBookTextsAfter(
+                        lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                batch.forEach(book -> addDocument(
+                        book.id(), book.title(), book.author(), book.description()));
+                lastId = batch.isEmpty() ? lastId : batch.get(batch.size() - 1).id();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            log.info("Book search index built with {} books", docsByBookId.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            addDocument(book.getId(), book.getTitle(), book.getAuthor(), book.getDescription());
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        int topSize = offset + limit;
+        lock.readLock().lock();
+        try {
+            Postings[] lists = terms.stream()
+                    .map(postings::get)
+                    .filter(Objects::nonNull)
+                    .toArray(Postings[]::new);
+            if (lists.length == 0 || docsByBookId.isEmpty()) {
+                return List.of();
+            }
+            PriorityQueue<ScoredDoc> top = rank(lists, topSize);
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(ScoredDoc::score).reversed());
+            return ranked.stream()
+                    .skip(offset)
+                    .map(scored -> bookIds[scored.doc()])
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PriorityQueue<ScoredDoc> rank(Postings[] lists, int topSize) {
+        int liveCount = docsByBookId.size();
+        float averageLength = (float) totalLength / liveCount;
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            int df = Math.min(lists[i].size, liveCount);
+            idf[i] = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+        }
+        int[] cursors = new int[lists.length];
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(
+                topSize + 1, Comparator.comparingDouble(ScoredDoc::score));
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < lists[i].size) {
+                    doc = Math.min(doc, lists[i].docs[cursors[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return top;
+            }
+            float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+            float score = 0;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < lists[i].size && lists[i].docs[cursors[i]] == doc) {
+                    int tf = lists[i].freqs[cursors[i]++];
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+            if (!deletedDocs.get(doc)) {
+                top.offer(new ScoredDoc(doc, score));
+                if (top.size() > topSize) {
+                    top.poll();
+                }
+            }
+        }
+    }
+
+    private void addDocument(Long bookId, String... fields) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String token : tokenize(field)) {
+                termFreqs.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        removeDocument(bookId);
+        int doc = docCount++;
+        if (doc == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        bookIds[doc] = bookId;
+        docLengths[doc] = length;
+        totalLength += length;
+        docsByBookId.put(bookId, doc);
+        termFreqs.forEach((term, freq) -> postings
+                .computeIfAbsent(term, key -> new Postings())
+                .add(doc, freq));
+    }
+
+    private void removeDocument(Long bookId) {
+        Integer doc = docsByBookId.remove(bookId);
+        if (doc != null) {
+            deletedDocs.set(doc);
+            deletedCount++;
+            totalLength -= docLengths[doc];
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_TO_COMPACT
+                || deletedCount * LIVE_PER_DELETED_TO_COMPACT < docsByBookId.size()) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int liveCount = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deletedDocs.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                bookIds[liveCount] = bookIds[doc];
+                docLengths[liveCount] = docLengths[doc];
+                remap[doc] = liveCount++;
+            }
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, liveCount * 2);
+        bookIds = Arrays.copyOf(bookIds, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+        docsByBookId.replaceAll((bookId, doc) -> remap[doc]);
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+        deletedDocs.clear();
+        log.debug("Book search index compacted {} deleted documents", deletedCount);
+        docCount = liveCount;
+        deletedCount = 0;
+    }
+
+    private void clear() {
+        postings.clear();
+        docsByBookId.clear();
+        deletedDocs.clear();
+        bookIds = new long[INITIAL_CAPACITY];
+        docLengths = new int[INITIAL_CAPACITY];
+        docCount = 0;
+        deletedCount = 0;
+        totalLength = 0;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private record ScoredDoc(int doc, float score) {
+    }
+
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size++] = freq;
+        }
+
+        private int compact(int[] remap) {
+            int liveSize = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[liveSize] = doc;
+                    freqs[liveSize++] = freqs[i];
+                }
+            }
+            size = liveSize;
+            return size;
+        }
+    }
+}
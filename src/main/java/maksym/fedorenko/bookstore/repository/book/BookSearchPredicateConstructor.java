@@ -15,7 +15,10 @@ public class BookSearchPredicateConstructor {
             predicate = predicate.and(book.title.containsIgnoreCase(searchDto.title()));
         }
         if (searchDto.author() != null && searchDto.author().length > 0) {
-            predicate = predicate.and(book.author.in(searchDto.author()));
+            predicate = predicate.and(book.authors.any().name.in(searchDto.author()));
+        }
+        if (searchDto.authorId() != null && searchDto.authorId().length > 0) {
+            predicate = predicate.and(book.authors.any().id.in(searchDto.authorId()));
         }
         if (searchDto.minPrice() != null) {
             predicate = predicate.and(book.price.goe(searchDto.minPrice()));
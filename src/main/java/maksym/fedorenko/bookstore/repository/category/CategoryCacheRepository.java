@@ -0,0 +1,5 @@
+package maksym.fedorenko.bookstore.repository.category;
+
+public interface CategoryCacheRepository {
+    void evictBookCategories();
+}
@@ -0,0 +1,19 @@
+package maksym.fedorenko.bookstore.repository.category;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import maksym.fedorenko.bookstore.model.CacheRegions;
+import org.hibernate.Cache;
+
+public class CategoryCacheRepositoryImpl implements CategoryCacheRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void evictBookCategories() {
+        entityManager.getEntityManagerFactory()
+                .getCache()
+                .unwrap(Cache.class)
+                .evictRegion(CacheRegions.BOOK_CATEGORIES);
+    }
+}
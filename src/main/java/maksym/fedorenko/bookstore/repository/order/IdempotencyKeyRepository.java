@@ -0,0 +1,59 @@
+package maksym.fedorenko.bookstore.repository.order;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.order.IdempotencyKeyDto;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    private static final String SELECT_ACTIVE = "SELECT request_hash, response "
+            + "FROM idempotency_keys WHERE user_id = :userId AND idempotency_key = :key "
+            + "AND expires_at >= :now AND response IS NOT NULL";
+    private static final String DELETE_EXPIRED_KEY = "DELETE FROM idempotency_keys "
+            + "WHERE user_id = :userId AND idempotency_key = :key AND expires_at < :now";
+    private static final String INSERT = "INSERT INTO idempotency_keys "
+            + "(user_id, idempotency_key, request_hash, expires_at) "
+            + "VALUES (:userId, :key, :requestHash, :expiresAt)";
+    private static final String UPDATE_RESPONSE = "UPDATE idempotency_keys "
+            + "SET response = :response WHERE user_id = :userId AND idempotency_key = :key";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotencyKeyDto> findActive(Long userId, String key, LocalDateTime now) {
+        return jdbcTemplate.query(SELECT_ACTIVE, Map.of("userId", userId, "key", key, "now", now),
+                        (rs, rowNum) -> new IdempotencyKeyDto(
+                                rs.getString("request_hash"), rs.getString("response")))
+                .stream()
+                .findFirst();
+    }
+
+    public void insert(Long userId, String key, String requestHash, LocalDateTime expiresAt) {
+        Map<String, Object> params = Map.of("userId", userId, "key", key,
+                "requestHash", requestHash, "expiresAt", expiresAt);
+        try {
+            jdbcTemplate.update(INSERT, params);
+        } catch (DuplicateKeyException e) {
+            if (jdbcTemplate.update(DELETE_EXPIRED_KEY,
+                    Map.of("userId", userId, "key", key, "now", LocalDateTime.now())) == 0) {
+                throw e;
+            }
+            jdbcTemplate.update(INSERT, params);
+        }
+    }
+
+    public void updateResponse(Long userId, String key, String response) {
+        jdbcTemplate.update(UPDATE_RESPONSE,
+                Map.of("userId", userId, "key", key, "response", response));
+    }
+
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Map.of("now", now, "limit", limit));
+    }
+}
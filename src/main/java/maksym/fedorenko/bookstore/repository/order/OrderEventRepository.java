@@ -0,0 +1,96 @@
+package maksym.fedorenko.bookstore.repository.order;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.model.Order;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderEventRepository {
+    private static final String INSERT = "INSERT INTO order_events "
+            + "(event_type, order_id, user_id, status, payload, created_at, next_attempt_at) "
+            + "VALUES (:type, :orderId, :userId, :status, :payload, :createdAt, :createdAt)";
+    // An event is claimable only while no older event of its order is leased or backing off,
+    // so events of one order are delivered in id order. The derived table works around
+    // MySQL not allowing a subquery on the updated table, and the outer next_attempt_at check
+    // skips rows another dispatcher claimed between the subquery and the row lock.
+    private static final String CLAIM = """
+            UPDATE order_events SET claim_token = :token, next_attempt_at = :leaseUntil
+            WHERE next_attempt_at <= :now AND id IN (SELECT id FROM (
+                SELECT e.id FROM order_events e
+                WHERE e.next_attempt_at <= :now AND NOT EXISTS (
+                    SELECT 1 FROM order_events o
+                    WHERE o.order_id = e.order_id AND o.id < e.id
+                    AND o.next_attempt_at > :now)
+                ORDER BY e.id LIMIT :limit) claimable)""";
+    private static final String SELECT_CLAIMED = "SELECT id, event_type, order_id, user_id, "
+            + "status, payload, created_at, attempts "
+            + "FROM order_events WHERE claim_token = :token ORDER BY id";
+    private static final String DELETE = "DELETE FROM order_events WHERE id IN (:ids)";
+    private static final String RESCHEDULE = "UPDATE order_events "
+            + "SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, claim_token = NULL "
+            + "WHERE id = :id";
+    private static final String SELECT_OLDEST_CREATED_AT =
+            "SELECT created_at FROM order_events ORDER BY id LIMIT 1";
+    private static final RowMapper<OrderEventDto> EVENT_MAPPER = (rs, rowNum) ->
+            new OrderEventDto(
+                    rs.getLong("id"),
+                    OrderEventDto.Type.valueOf(rs.getString("event_type")),
+                    rs.getLong("order_id"),
+                    rs.getLong("user_id"),
+                    Order.Status.valueOf(rs.getString("status")),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getInt("attempts"));
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Long insert(OrderEventDto.Type type, Long orderId, Long userId,
+                       Order.Status status, String payload, LocalDateTime createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(INSERT, new MapSqlParameterSource()
+                .addValue("type", type.name())
+                .addValue("orderId", orderId)
+                .addValue("userId", userId)
+                .addValue("status", status.name())
+                .addValue("payload", payload)
+                .addValue("createdAt", createdAt), keyHolder, new String[] {"id"});
+        return keyHolder.getKeyAs(Number.class).longValue();
+    }
+
+    public List<OrderEventDto> claim(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        String token = UUID.randomUUID().toString();
+        int claimed = jdbcTemplate.update(CLAIM, Map.of(
+                "token", token, "leaseUntil", leaseUntil, "now", now, "limit", limit));
+        if (claimed == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_CLAIMED, Map.of("token", token), EVENT_MAPPER);
+    }
+
+    public void delete(Collection<Long> ids) {
+        jdbcTemplate.update(DELETE, Map.of("ids", ids));
+    }
+
+    public void reschedule(OrderEventDto event, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update(RESCHEDULE, Map.of("id", event.id(), "nextAttemptAt", nextAttemptAt));
+    }
+
+    public Optional<LocalDateTime> findOldestCreatedAt() {
+        return jdbcTemplate.query(SELECT_OLDEST_CREATED_AT,
+                        (rs, rowNum) -> rs.getTimestamp("created_at").toLocalDateTime())
+                .stream()
+                .findFirst();
+    }
+}
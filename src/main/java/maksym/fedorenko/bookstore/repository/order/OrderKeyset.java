@@ -0,0 +1,57 @@
+package maksym.fedorenko.bookstore.repository.order;
+
+import static maksym.fedorenko.bookstore.model.QOrder.order;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import maksym.fedorenko.bookstore.dto.order.OrderSummaryDto;
+import maksym.fedorenko.bookstore.exception.InvalidCursorException;
+
+public record OrderKeyset(LocalDateTime lastOrderDate, Long lastId) {
+    private static final String SEPARATOR = ",";
+    private static final int TOKEN_PARTS = 2;
+
+    public static OrderKeyset first() {
+        return new OrderKeyset(null, null);
+    }
+
+    public static OrderKeyset decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, TOKEN_PARTS);
+            if (parts.length != TOKEN_PARTS) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
+            return new OrderKeyset(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor, e);
+        }
+    }
+
+    public OrderKeyset after(OrderSummaryDto last) {
+        return new OrderKeyset(last.orderDate(), last.id());
+    }
+
+    public String encode() {
+        String token = String.join(SEPARATOR, lastOrderDate.toString(), String.valueOf(lastId));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Predicate predicate() {
+        if (lastId == null) {
+            return null;
+        }
+        return order.orderDate.lt(lastOrderDate)
+                .or(order.orderDate.eq(lastOrderDate).and(order.id.lt(lastId)));
+    }
+
+    public OrderSpecifier<?>[] orderSpecifiers() {
+        return new OrderSpecifier<?>[] {order.orderDate.desc(), order.id.desc()};
+    }
+}
@@ -0,0 +1,13 @@
+package maksym.fedorenko.bookstore.repository.order;
+
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.order.OrderSummaryDto;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderProjectionRepository {
+    List<OrderSummaryDto> findSummariesByUserId(Long userId, Pageable pageable);
+
+    List<OrderSummaryDto> findSummariesByUserIdAndKeyset(
+            Long userId, OrderKeyset keyset, int limit
+    );
+}
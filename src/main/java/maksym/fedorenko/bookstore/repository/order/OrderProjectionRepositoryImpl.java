@@ -0,0 +1,54 @@
+package maksym.fedorenko.bookstore.repository.order;
+
+import static maksym.fedorenko.bookstore.model.QOrder.order;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.order.OrderSummaryDto;
+import maksym.fedorenko.bookstore.model.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.Querydsl;
+
+public class OrderProjectionRepositoryImpl implements OrderProjectionRepository {
+    private static final Sort DEFAULT_SORT = Sort.by(
+            Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+    private final PathBuilder<Order> orderPath =
+            new PathBuilder<>(Order.class, order.getMetadata());
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryDto> findSummariesByUserId(Long userId, Pageable pageable) {
+        Pageable sorted = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        Querydsl querydsl = new Querydsl(entityManager, orderPath);
+        return querydsl.applyPagination(sorted, selectSummaries(userId))
+                .fetch();
+    }
+
+    @Override
+    public List<OrderSummaryDto> findSummariesByUserIdAndKeyset(
+            Long userId, OrderKeyset keyset, int limit
+    ) {
+        return selectSummaries(userId)
+                .where(keyset.predicate())
+                .orderBy(keyset.orderSpecifiers())
+                .limit(limit)
+                .fetch();
+    }
+
+    private JPAQuery<OrderSummaryDto> selectSummaries(Long userId) {
+        return new JPAQuery<Void>(entityManager)
+                .select(Projections.constructor(OrderSummaryDto.class,
+                        order.id, order.user.id, order.orderDate, order.total, order.status))
+                .from(order)
+                .where(order.user.id.eq(userId));
+    }
+}
@@ -0,0 +1,7 @@
+package maksym.fedorenko.bookstore.repository.shoppingcart;
+
+public interface CartItemUpsertRepository {
+    Long nextId();
+
+    int addQuantity(Long id, Long shoppingCartId, Long bookId, int quantity);
+}
@@ -0,0 +1,56 @@
+package maksym.fedorenko.bookstore.repository.shoppingcart;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import maksym.fedorenko.bookstore.model.CartItem;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+
+public class CartItemUpsertRepositoryImpl implements CartItemUpsertRepository {
+    private static final String UPSERT_CART_ITEM = """
+            INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
+            SELECT :id, sc.id, b.id, :quantity
+            FROM shopping_carts sc
+            JOIN books b ON b.id = :bookId AND b.is_deleted = false
+            WHERE sc.id = :shoppingCartId
+            ON DUPLICATE KEY UPDATE quantity = cart_items.quantity + :quantity""";
+    @PersistenceContext
+    private EntityManager entityManager;
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Takes an id in a session without a transaction. Refilling the id block borrows a pooled
+     * connection, so callers queued on the id generator must not hold one, or a full pool
+     * deadlocks until the connection timeout.
+     */
+    @Override
+    public Long nextId() {
+        try (EntityManager idSession = entityManagerFactory.createEntityManager()) {
+            SharedSessionContractImplementor session =
+                    idSession.unwrap(SharedSessionContractImplementor.class);
+            EntityPersister persister = session.getFactory()
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(CartItem.class);
+            return (Long) ((BeforeExecutionGenerator) persister.getGenerator())
+                    .generate(session, null, null, EventType.INSERT);
+        }
+    }
+
+    @Override
+    public int addQuantity(Long id, Long shoppingCartId, Long bookId, int quantity) {
+        return entityManager.createNativeQuery(UPSERT_CART_ITEM)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(CartItem.class)
+                .setParameter("id", id)
+                .setParameter("shoppingCartId", shoppingCartId)
+                .setParameter("bookId", bookId)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+    }
+}
@@ -1,8 +1,11 @@
 package maksym.fedorenko.bookstore.security;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
 import maksym.fedorenko.bookstore.dto.user.UserLoginRequestDto;
 import maksym.fedorenko.bookstore.dto.user.UserLoginResponseDto;
+import maksym.fedorenko.bookstore.model.User;
 import maksym.fedorenko.bookstore.security.jwt.JwtUtil;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
@@ -19,7 +23,7 @@ public class AuthenticationService {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = jwtUtil.generateToken((User) authentication.getPrincipal());
         return new UserLoginResponseDto(token);
     }
 }
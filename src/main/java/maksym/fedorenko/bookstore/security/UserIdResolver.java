@@ -0,0 +1,22 @@
+package maksym.fedorenko.bookstore.security;
+
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.exception.EntityNotFoundException;
+import maksym.fedorenko.bookstore.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class UserIdResolver {
+    private final UserRepository userRepository;
+
+    public Long getUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.id();
+        }
+        return userRepository.findIdByEmail(authentication.getName())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can't find user by email: " + authentication.getName()));
+    }
+}
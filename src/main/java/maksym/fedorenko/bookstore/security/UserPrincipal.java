@@ -0,0 +1,10 @@
+package maksym.fedorenko.bookstore.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+public record UserPrincipal(Long id, String email) implements AuthenticatedPrincipal {
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,28 +1,41 @@
 package maksym.fedorenko.bookstore.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import maksym.fedorenko.bookstore.security.UserPrincipal;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-@RequiredArgsConstructor
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    public static final String AUTHENTICATION_TIMER = "jwt.authentication";
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String TOKEN_TYPE = "Bearer";
     private static final int INDEX_OF_TOKEN_STARTS = 7;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenVersionChecker tokenVersionChecker;
+    private final Timer authenticationTimer;
+
+    public JwtAuthenticationFilter(
+            JwtUtil jwtUtil, TokenVersionChecker tokenVersionChecker, MeterRegistry meterRegistry
+    ) {
+        this.jwtUtil = jwtUtil;
+        this.tokenVersionChecker = tokenVersionChecker;
+        this.authenticationTimer = Timer.builder(AUTHENTICATION_TIMER)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -32,22 +45,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String token = getToken(request);
         if (token != null) {
+            Timer.Sample sample = Timer.start();
             try {
-                if (jwtUtil.isValidToken(token)) {
-                    updateSecurityContext(token);
-                }
+                updateSecurityContext(jwtUtil.parseToken(token));
             } catch (IllegalArgumentException | JwtException e) {
                 logger.error("Unable to get JWT Token or JWT Token has expired");
+            } finally {
+                sample.stop(authenticationTimer);
             }
         }
         filterChain.doFilter(request, response);
     }
 
-    private void updateSecurityContext(String token) {
-        String username = jwtUtil.getUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    private void updateSecurityContext(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class);
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        if (claims.getSubject() == null || userId == null || tokenVersion == null
+                || roles == null || !tokenVersionChecker.isCurrent(userId, tokenVersion)) {
+            return;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
         var authentication = new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities()
+                new UserPrincipal(userId, claims.getSubject()), null, authorities
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
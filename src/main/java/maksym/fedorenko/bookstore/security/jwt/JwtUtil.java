@@ -1,58 +1,103 @@
 package maksym.fedorenko.bookstore.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
+import maksym.fedorenko.bookstore.model.User;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String TOKEN_HASH_ALGORITHM = "SHA-256";
     @Value("${jwt.expiration}")
     private long expiration;
     private final SecretKey secret;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    public JwtUtil(
+            @Value("${jwt.secret}") String secretString,
+            @Value("${jwt.cache.maximum-size}") long cacheMaximumSize
+    ) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
-        final String username = getUsername(token);
-        return username != null && !isTokenExpired(token);
+    public Claims parseToken(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(tokenHash, claims);
+        }
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDate(token);
-        return expiration.before(new Date());
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(TOKEN_HASH_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(TOKEN_HASH_ALGORITHM + " is not supported", e);
+        }
     }
 
-    public String getUsername(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
-    }
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
 
-    public Date getExpirationDate(String token) {
-        return getClaimsFromToken(token, Claims::getExpiration);
-    }
+        @Override
+        public long expireAfterUpdate(
+                String tokenHash, Claims claims, long currentTime, long currentDuration
+        ) {
+            return expireAfterCreate(tokenHash, claims, currentTime);
+        }
 
-    private <T> T getClaimsFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .verifyWith(secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
+        @Override
+        public long expireAfterRead(
+                String tokenHash, Claims claims, long currentTime, long currentDuration
+        ) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,44 @@
+package maksym.fedorenko.bookstore.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Optional;
+import maksym.fedorenko.bookstore.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenVersionChecker {
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<Integer>> tokenVersions;
+
+    public TokenVersionChecker(
+            UserRepository userRepository,
+            @Value("${jwt.token-version.maximum-size}") long maximumSize,
+            @Value("${jwt.token-version.expire-after-write}") Duration expireAfterWrite
+    ) {
+        this.userRepository = userRepository;
+        tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return findTokenVersion(userId)
+                .filter(version -> version == tokenVersion)
+                .isPresent();
+    }
+
+    private Optional<Integer> findTokenVersion(Long userId) {
+        // Loaded outside the cache so a virtual thread never waits on the database while
+        // holding the cache's map lock, which would pin its carrier thread.
+        Optional<Integer> tokenVersion = tokenVersions.getIfPresent(userId);
+        if (tokenVersion == null) {
+            tokenVersion = userRepository.findTokenVersionById(userId);
+            tokenVersions.put(userId, tokenVersion);
+        }
+        return tokenVersion;
+    }
+}
@@ -0,0 +1,101 @@
+package maksym.fedorenko.bookstore.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import maksym.fedorenko.bookstore.dto.exception.ErrorResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String REJECTED_METRIC = "rate.limit.rejected";
+    private final List<GroupLimit> groups;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper
+    ) {
+        this.objectMapper = objectMapper;
+        groups = properties.groups().stream()
+                .map(group -> new GroupLimit(group, new AntPathRequestMatcher(group.path()),
+                        Counter.builder(REJECTED_METRIC)
+                                .tag("group", group.name())
+                                .register(meterRegistry)))
+                .toList();
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumKeys())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        GroupLimit limit = findGroup(request);
+        if (limit != null) {
+            long now = System.nanoTime();
+            RateLimitProperties.Group group = limit.group();
+            long waitNanos = buckets.get(group.name() + ":" + getClientKey(request),
+                    key -> new TokenBucket(group.capacity(), group.refillPerSecond(), now))
+                    .tryConsume(now);
+            if (waitNanos > 0) {
+                limit.rejected().increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private GroupLimit findGroup(HttpServletRequest request) {
+        for (GroupLimit limit : groups) {
+            if (limit.matcher().matches(request)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1,
+                (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseWrapper(
+                LocalDateTime.now(), "too-many-requests", "Rate limit exceeded"));
+    }
+
+    private record GroupLimit(
+            RateLimitProperties.Group group, AntPathRequestMatcher matcher, Counter rejected) {
+    }
+}
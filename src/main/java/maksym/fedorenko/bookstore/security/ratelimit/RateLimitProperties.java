@@ -0,0 +1,19 @@
+package maksym.fedorenko.bookstore.security.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("100000") long maximumKeys,
+        @DefaultValue("10m") Duration idleTimeout,
+        List<Group> groups) {
+    public RateLimitProperties {
+        groups = groups == null ? List.of() : List.copyOf(groups);
+    }
+
+    public record Group(String name, String path, long capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,30 @@
+package maksym.fedorenko.bookstore.security.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long base = arrival - nowNanos > 0 ? arrival : nowNanos;
+            long waitNanos = base - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
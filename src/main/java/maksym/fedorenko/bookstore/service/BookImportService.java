@@ -0,0 +1,11 @@
+package maksym.fedorenko.bookstore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import maksym.fedorenko.bookstore.dto.book.BookImportResultDto;
+
+public interface BookImportService {
+    BookImportResultDto importFromJson(InputStream inputStream) throws IOException;
+
+    BookImportResultDto importFromCsv(InputStream inputStream) throws IOException;
+}
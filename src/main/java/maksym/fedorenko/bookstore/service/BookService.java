@@ -1,6 +1,8 @@
 package maksym.fedorenko.bookstore.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
 import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
 import maksym.fedorenko.bookstore.dto.book.BookSearchParametersDto;
@@ -13,8 +15,16 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    BookCursorPageDto findAll(String cursor, Pageable pageable);
+
     List<BookDto> searchBooksByParameters(BookSearchParametersDto searchDto, Pageable pageable);
 
+    BookCursorPageDto searchBooksByParameters(
+            BookSearchParametersDto searchDto, String cursor, Pageable pageable
+    );
+
+    List<BookDto> searchBooksByQuery(String query, Pageable pageable);
+
     BookDto getById(Long id);
 
     BookDto update(Long id, UpdateBookRequestDto requestDto);
@@ -22,4 +32,8 @@ public interface BookService {
     void delete(Long id);
 
     List<BookDtoWithoutCategories> findBooksByCategoryId(Long id, Pageable pageable);
+
+    BookCursorPageDto findBooksByAuthorId(Long id, String cursor, Pageable pageable);
+
+    void exportBooks(Consumer<BookDto> consumer);
 }
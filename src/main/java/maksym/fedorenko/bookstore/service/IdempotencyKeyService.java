@@ -0,0 +1,17 @@
+package maksym.fedorenko.bookstore.service;
+
+import java.util.Optional;
+import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.OrderDto;
+
+public interface IdempotencyKeyService {
+    String hash(CreateOrderRequestDto requestDto);
+
+    Optional<OrderDto> findResponse(Long userId, String key, String requestHash);
+
+    void reserve(Long userId, String key, String requestHash);
+
+    void complete(Long userId, String key, String requestHash, OrderDto response);
+
+    void deleteExpired();
+}
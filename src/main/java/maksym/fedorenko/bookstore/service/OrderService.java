@@ -2,20 +2,30 @@ package maksym.fedorenko.bookstore.service;
 
 import java.util.List;
 import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.OrderCursorPageDto;
 import maksym.fedorenko.bookstore.dto.order.OrderDto;
 import maksym.fedorenko.bookstore.dto.order.OrderItemDto;
 import maksym.fedorenko.bookstore.dto.order.UpdateOrderRequestDto;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface OrderService {
     OrderDto createOrder(Authentication authentication, CreateOrderRequestDto requestDto);
 
+    OrderDto createOrder(
+            Authentication authentication, CreateOrderRequestDto requestDto, String idempotencyKey
+    );
+
     List<OrderDto> findAll(Authentication authentication, Pageable pageable);
 
+    OrderCursorPageDto findAll(Authentication authentication, String cursor, Pageable pageable);
+
     OrderDto getById(Authentication authentication, Long id);
 
     OrderItemDto getOrderItemById(Authentication authentication, Long orderId, Long id);
 
     OrderDto update(Long id, UpdateOrderRequestDto requestDto);
+
+    SseEmitter streamStatuses(Authentication authentication);
 }
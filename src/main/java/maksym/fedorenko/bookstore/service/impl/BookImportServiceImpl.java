@@ -0,0 +1,214 @@
+package maksym.fedorenko.bookstore.service.impl;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookImportErrorDto;
+import maksym.fedorenko.bookstore.dto.book.BookImportResultDto;
+import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
+import maksym.fedorenko.bookstore.mapper.BookMapper;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.AuthorRepository;
+import maksym.fedorenko.bookstore.repository.CategoryRepository;
+import maksym.fedorenko.bookstore.repository.book.BookBatchRepository;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
+import maksym.fedorenko.bookstore.service.BookImportService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class BookImportServiceImpl implements BookImportService {
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(CreateBookRequestDto.class)
+            .withHeader()
+            .withColumnReordering(true)
+            .withArrayElementSeparator(";");
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final BookBatchRepository bookBatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookMapper bookMapper;
+
+    @Override
+    public BookImportResultDto importFromJson(InputStream inputStream) throws IOException {
+        return importRows(objectMapper.readerFor(CreateBookRequestDto.class)
+                .readValues(inputStream));
+    }
+
+    @Override
+    public BookImportResultDto importFromCsv(InputStream inputStream) throws IOException {
+        return importRows(CSV_MAPPER.readerFor(CreateBookRequestDto.class)
+                .with(CSV_SCHEMA)
+                .without(CsvParser.Feature.FAIL_ON_MISSING_HEADER_COLUMNS)
+                .readValues(inputStream));
+    }
+
+    private BookImportResultDto importRows(MappingIterator<CreateBookRequestDto> rows) {
+        ImportReport report = new ImportReport();
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        long rowNumber = 0;
+        while (true) {
+            rowNumber++;
+            try {
+                if (!rows.hasNextValue()) {
+                    break;
+                }
+            } catch (IOException e) {
+                report.reject(rowNumber, "Unreadable input: " + e.getMessage());
+                break;
+            }
+            try {
+                CreateBookRequestDto book = rows.nextValue();
+                String violations = validate(book);
+                if (violations != null) {
+                    report.reject(rowNumber, violations);
+                    continue;
+                }
+                batch.add(new ImportRow(rowNumber, book));
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(batch, report);
+                    batch.clear();
+                }
+            } catch (IOException e) {
+                report.reject(rowNumber, e.getMessage());
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+        return report.toDto();
+    }
+
+    private String validate(CreateBookRequestDto book) {
+        if (book == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void importBatch(List<ImportRow> batch, ImportReport report) {
+        Map<String, Long> existingIsbns = bookBatchRepository.findIdsByIsbnIn(
+                batch.stream().map(row -> row.book().isbn()).toList());
+        Set<Long> categoryIds = new HashSet<>(categoryRepository.findIdsByIdIn(
+                batch.stream()
+                        .flatMap(row -> row.book().categoryIds().stream())
+                        .collect(Collectors.toSet())));
+        Set<Long> authorIds = new HashSet<>(authorRepository.findIdsByIdIn(
+                batch.stream()
+                        .map(row -> row.book().authorIds())
+                        .filter(Objects::nonNull)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toSet())));
+        Set<String> batchIsbns = new HashSet<>();
+        List<ImportRow> accepted = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            CreateBookRequestDto book = row.book();
+            List<Long> missingCategoryIds = book.categoryIds().stream()
+                    .filter(id -> !categoryIds.contains(id))
+                    .distinct()
+                    .toList();
+            List<Long> missingAuthorIds = book.authorIds() == null
+                    ? List.of()
+                    : book.authorIds().stream()
+                            .filter(id -> !authorIds.contains(id))
+                            .distinct()
+                            .toList();
+            if (existingIsbns.containsKey(book.isbn()) || !batchIsbns.add(book.isbn())) {
+                report.reject(row.number(), "Book with isbn " + book.isbn() + " already exists");
+            } else if (!missingCategoryIds.isEmpty()) {
+                report.reject(row.number(), "Can't find categories by ids: " + missingCategoryIds);
+            } else if (!missingAuthorIds.isEmpty()) {
+                report.reject(row.number(), "Can't find authors by ids: " + missingAuthorIds);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<CreateBookRequestDto> books = accepted.stream().map(ImportRow::book).toList();
+        try {
+            long firstId = bookBatchRepository.reserveIds(books.size());
+            Map<String, Long> bookIds = transactionTemplate.execute(
+                    status -> insert(books, firstId));
+            books.forEach(book -> bookSearchIndex.index(toBook(book, bookIds.get(book.isbn()))));
+            report.imported += books.size();
+        } catch (DataAccessException e) {
+            log.warn("Book import batch of {} rows failed", books.size(), e);
+            accepted.forEach(row -> report.reject(row.number(),
+                    "Batch insert failed: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private Map<String, Long> insert(List<CreateBookRequestDto> books, long firstId) {
+        Map<String, Long> bookIds = bookBatchRepository.insertAll(books, firstId);
+        bookBatchRepository.insertAuthors(books, bookIds);
+        bookBatchRepository.insertCategories(books.stream()
+                .flatMap(book -> book.categoryIds().stream()
+                        .distinct()
+                        .map(categoryId -> new BookCategoryIdDto(
+                                bookIds.get(book.isbn()), categoryId)))
+                .toList());
+        return bookIds;
+    }
+
+    private Book toBook(CreateBookRequestDto requestDto, Long id) {
+        Book book = bookMapper.toBook(requestDto);
+        book.setId(id);
+        return book;
+    }
+
+    private record ImportRow(long number, CreateBookRequestDto book) {
+    }
+
+    private static class ImportReport {
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(row, message));
+            }
+        }
+
+        private BookImportResultDto toDto() {
+            return new BookImportResultDto(imported, failed, errors);
+        }
+    }
+}
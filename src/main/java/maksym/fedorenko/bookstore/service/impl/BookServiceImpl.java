@@ -1,60 +1,106 @@
 package maksym.fedorenko.bookstore.service.impl;
 
+import static maksym.fedorenko.bookstore.model.QBook.book;
+
+import com.querydsl.core.types.Predicate;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.CacheConfig;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
 import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import maksym.fedorenko.bookstore.dto.book.BookExportRowDto;
 import maksym.fedorenko.bookstore.dto.book.BookSearchParametersDto;
 import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
 import maksym.fedorenko.bookstore.dto.book.UpdateBookRequestDto;
 import maksym.fedorenko.bookstore.exception.EntityNotFoundException;
 import maksym.fedorenko.bookstore.mapper.BookMapper;
 import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.AuthorRepository;
 import maksym.fedorenko.bookstore.repository.BookRepository;
 import maksym.fedorenko.bookstore.repository.CategoryRepository;
+import maksym.fedorenko.bookstore.repository.book.BookKeyset;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
 import maksym.fedorenko.bookstore.repository.book.BookSearchPredicateConstructor;
 import maksym.fedorenko.bookstore.service.BookService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
     private final BookMapper bookMapper;
     private final BookSearchPredicateConstructor bookSearchPredicateConstructor;
+    private final BookSearchIndex bookSearchIndex;
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#result.id")
     public BookDto save(CreateBookRequestDto requestDto) {
         Book book = bookMapper.toBook(requestDto);
         addBookCategories(requestDto.categoryIds(), book);
-        return bookMapper.toDto(bookRepository.save(book));
+        addBookAuthors(requestDto.authorIds(), book);
+        Book savedBook = bookRepository.save(book);
+        afterCommit(() -> bookSearchIndex.index(savedBook));
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        return withCategoryIds(bookRepository.findDtos(null, pageable));
+    }
+
+    @Override
+    public BookCursorPageDto findAll(String cursor, Pageable pageable) {
+        return findByKeyset(null, cursor, pageable);
     }
 
     @Override
     public List<BookDto> searchBooksByParameters(
             BookSearchParametersDto searchDto, Pageable pageable
     ) {
-        return StreamSupport.stream(bookRepository
-                        .findAll(bookSearchPredicateConstructor.construct(searchDto), pageable)
-                        .spliterator(), false)
-                .map(bookMapper::toDto)
-                .toList();
+        Predicate predicate = bookSearchPredicateConstructor.construct(searchDto);
+        return withCategoryIds(bookRepository.findDtos(predicate, pageable));
+    }
+
+    @Override
+    public BookCursorPageDto searchBooksByParameters(
+            BookSearchParametersDto searchDto, String cursor, Pageable pageable
+    ) {
+        return findByKeyset(bookSearchPredicateConstructor.construct(searchDto), cursor, pageable);
     }
 
     @Override
+    public List<BookDto> searchBooksByQuery(String query, Pageable pageable) {
+        List<Long> ids = bookSearchIndex.search(
+                query, (int) pageable.getOffset(), pageable.getPageSize());
+        return withCategoryIds(findDtosByIdsInOrder(ids));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE)
     public BookDto getById(Long id) {
         return bookRepository.findById(id)
                 .map(bookMapper::toDto)
@@ -63,18 +109,27 @@ public class BookServiceImpl implements BookService {
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto update(Long id, UpdateBookRequestDto requestDto) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find book by id: " + id));
         bookMapper.updateBook(requestDto, book);
         addBookCategories(requestDto.categoryIds(), book);
-        return bookMapper.toDto(bookRepository.save(book));
+        if (requestDto.authorIds() != null || requestDto.author() != null) {
+            addBookAuthors(requestDto.authorIds(), book);
+        }
+        Book savedBook = bookRepository.save(book);
+        afterCommit(() -> bookSearchIndex.index(savedBook));
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE)
     public void delete(Long id) {
         checkIfBookExistsById(id);
         bookRepository.deleteById(id);
+        afterCommit(() -> bookSearchIndex.remove(id));
     }
 
     @Override
@@ -82,9 +137,84 @@ public class BookServiceImpl implements BookService {
         if (!categoryRepository.existsById(id)) {
             throw new EntityNotFoundException("Category with id=%d doesn't exist".formatted(id));
         }
-        return bookRepository.findAllByCategoriesId(id, pageable)
+        return bookRepository.findDtosByCategoryId(id, pageable);
+    }
+
+    @Override
+    public BookCursorPageDto findBooksByAuthorId(Long id, String cursor, Pageable pageable) {
+        if (!authorRepository.existsById(id)) {
+            throw new EntityNotFoundException("Author with id=%d doesn't exist".formatted(id));
+        }
+        return findByKeyset(book.authors.any().id.eq(id), cursor, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<BookDto> consumer) {
+        try (Stream<BookExportRowDto> rows = bookRepository.streamAllForExport()) {
+            Iterator<BookExportRowDto> iterator = rows.iterator();
+            BookDto book = null;
+            while (iterator.hasNext()) {
+                BookExportRowDto row = iterator.next();
+                if (book == null || !book.getId().equals(row.id())) {
+                    if (book != null) {
+                        consumer.accept(book);
+                    }
+                    book = new BookDto(row.id(), row.title(), row.author(), row.isbn(),
+                            row.price(), row.description(), row.coverImage(), new ArrayList<>());
+                }
+                if (row.categoryId() != null) {
+                    book.getCategoryIds().add(row.categoryId());
+                }
+            }
+            if (book != null) {
+                consumer.accept(book);
+            }
+        }
+    }
+
+    private BookCursorPageDto findByKeyset(
+            Predicate predicate, String cursor, Pageable pageable
+    ) {
+        BookKeyset keyset = cursor == null
+                ? BookKeyset.first(pageable.getSort())
+                : BookKeyset.decode(cursor);
+        int size = pageable.getPageSize();
+        List<BookDtoWithoutCategories> books =
+                bookRepository.findDtosByKeyset(predicate, keyset, size + 1);
+        if (books.size() <= size) {
+            return new BookCursorPageDto(withCategoryIds(books), null);
+        }
+        books = books.subList(0, size);
+        String nextCursor = keyset.after(books.get(size - 1)).encode();
+        return new BookCursorPageDto(withCategoryIds(books), nextCursor);
+    }
+
+    private List<BookDtoWithoutCategories> findDtosByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookDtoWithoutCategories> books = bookRepository.findDtosByIdIn(ids)
                 .stream()
-                .map(bookMapper::toDtoWithoutCategories)
+                .collect(Collectors.toMap(BookDtoWithoutCategories::id, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<BookDto> withCategoryIds(List<BookDtoWithoutCategories> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Long>> categoryIds = bookRepository.findCategoryIdsByBookIdIn(
+                        books.stream().map(BookDtoWithoutCategories::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(BookCategoryIdDto::bookId,
+                        Collectors.mapping(BookCategoryIdDto::categoryId, Collectors.toList())));
+        return books.stream()
+                .map(book -> bookMapper.toDto(
+                        book, categoryIds.getOrDefault(book.id(), List.of())))
                 .toList();
     }
 
@@ -95,6 +225,46 @@ public class BookServiceImpl implements BookService {
         );
     }
 
+    private void addBookAuthors(List<Long> authorIds, Book book) {
+        List<Long> ids = authorIds == null || authorIds.isEmpty()
+                ? List.of(upsertAuthor(book.getAuthor()))
+                : findExistingAuthorIds(authorIds);
+        book.setAuthors(ids.stream()
+                .map(authorRepository::getReferenceById)
+                .collect(Collectors.toSet())
+        );
+    }
+
+    private List<Long> findExistingAuthorIds(List<Long> authorIds) {
+        List<Long> ids = authorRepository.findIdsByIdIn(authorIds);
+        List<Long> missingIds = authorIds.stream()
+                .filter(id -> !ids.contains(id))
+                .distinct()
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException("Can't find authors by ids: " + missingIds);
+        }
+        return ids;
+    }
+
+    private Long upsertAuthor(String name) {
+        authorRepository.upsert(name);
+        return authorRepository.findLastInsertId();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void checkIfBookExistsById(Long id) {
         if (!bookRepository.existsById(id)) {
             throw new EntityNotFoundException("Book with id=%d doesn't exist".formatted(id));
@@ -1,7 +1,10 @@
 package maksym.fedorenko.bookstore.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.CacheConfig;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
 import maksym.fedorenko.bookstore.dto.category.CategoryDto;
 import maksym.fedorenko.bookstore.dto.category.CreateCategoryRequestDto;
 import maksym.fedorenko.bookstore.dto.category.UpdateCategoryRequestDto;
@@ -10,11 +13,13 @@ import maksym.fedorenko.bookstore.mapper.CategoryMapper;
 import maksym.fedorenko.bookstore.model.Category;
 import maksym.fedorenko.bookstore.repository.CategoryRepository;
 import maksym.fedorenko.bookstore.service.CategoryService;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
@@ -52,9 +57,11 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
     public void delete(Long id) {
         checkIfExistsById(id);
         categoryRepository.deleteById(id);
+        categoryRepository.evictBookCategories();
     }
 
     private void checkIfExistsById(Long id) {
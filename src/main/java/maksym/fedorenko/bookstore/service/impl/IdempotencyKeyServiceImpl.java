@@ -0,0 +1,139 @@
+package maksym.fedorenko.bookstore.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
+import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.exception.IdempotencyKeyConflictException;
+import maksym.fedorenko.bookstore.repository.order.IdempotencyKeyRepository;
+import maksym.fedorenko.bookstore.service.IdempotencyKeyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class IdempotencyKeyServiceImpl implements IdempotencyKeyService {
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> responses;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    public IdempotencyKeyServiceImpl(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl}") Duration ttl,
+            @Value("${idempotency.cache.maximum-size}") long maximumSize,
+            @Value("${idempotency.sweeper.batch-size}") int sweepBatchSize
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+        responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public String hash(CreateOrderRequestDto requestDto) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(requestDto)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Can't hash order request", e);
+        }
+    }
+
+    @Override
+    public Optional<OrderDto> findResponse(Long userId, String key, String requestHash) {
+        String cacheKey = cacheKey(userId, key);
+        StoredResponse stored = responses.getIfPresent(cacheKey);
+        if (stored == null) {
+            Optional<StoredResponse> persisted = idempotencyKeyRepository
+                    .findActive(userId, key, LocalDateTime.now())
+                    .map(row -> new StoredResponse(row.requestHash(), read(row.response())));
+            if (persisted.isEmpty()) {
+                return Optional.empty();
+            }
+            stored = persisted.get();
+            responses.put(cacheKey, stored);
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(
+                    "Idempotency-Key %s was already used for a different request".formatted(key));
+        }
+        return Optional.of(stored.response());
+    }
+
+    @Override
+    public void reserve(Long userId, String key, String requestHash) {
+        idempotencyKeyRepository.insert(userId, key, requestHash, LocalDateTime.now().plus(ttl));
+    }
+
+    @Override
+    public void complete(Long userId, String key, String requestHash, OrderDto response) {
+        idempotencyKeyRepository.updateResponse(userId, key, write(response));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.put(cacheKey(userId, key), new StoredResponse(requestHash, response));
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${idempotency.sweeper.interval}",
+            initialDelayString = "${idempotency.sweeper.interval}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys", total);
+        }
+    }
+
+    private OrderDto read(String response) {
+        try {
+            return objectMapper.readValue(response, OrderDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't read stored order response", e);
+        }
+    }
+
+    private String write(OrderDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't store order response", e);
+        }
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private record StoredResponse(String requestHash, OrderDto response) {
+    }
+}
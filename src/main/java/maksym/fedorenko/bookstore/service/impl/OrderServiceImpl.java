@@ -1,13 +1,22 @@
 package maksym.fedorenko.bookstore.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
 import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.OrderCursorPageDto;
 import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
 import maksym.fedorenko.bookstore.dto.order.OrderItemDto;
+import maksym.fedorenko.bookstore.dto.order.OrderItemRowDto;
+import maksym.fedorenko.bookstore.dto.order.OrderSummaryDto;
 import maksym.fedorenko.bookstore.dto.order.UpdateOrderRequestDto;
 import maksym.fedorenko.bookstore.exception.CreateOrderException;
 import maksym.fedorenko.bookstore.exception.EntityNotFoundException;
+import maksym.fedorenko.bookstore.exception.IdempotencyKeyConflictException;
 import maksym.fedorenko.bookstore.mapper.OrderItemMapper;
 import maksym.fedorenko.bookstore.mapper.OrderMapper;
 import maksym.fedorenko.bookstore.model.Order;
@@ -16,13 +25,22 @@ import maksym.fedorenko.bookstore.model.ShoppingCart;
 import maksym.fedorenko.bookstore.repository.OrderItemRepository;
 import maksym.fedorenko.bookstore.repository.OrderRepository;
 import maksym.fedorenko.bookstore.repository.ShoppingCartRepository;
+import maksym.fedorenko.bookstore.repository.order.OrderKeyset;
+import maksym.fedorenko.bookstore.security.UserIdResolver;
+import maksym.fedorenko.bookstore.service.IdempotencyKeyService;
 import maksym.fedorenko.bookstore.service.OrderService;
+import maksym.fedorenko.bookstore.service.order.CheckoutLocks;
+import maksym.fedorenko.bookstore.service.order.OrderEventOutbox;
+import maksym.fedorenko.bookstore.service.order.OrderStatusStreams;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
@@ -30,29 +48,54 @@ public class OrderServiceImpl implements OrderService {
     private final ShoppingCartRepository shoppingCartRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final IdempotencyKeyService idempotencyKeyService;
+    private final UserIdResolver userIdResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final CheckoutLocks checkoutLocks;
+    private final OrderEventOutbox orderEventOutbox;
+    private final OrderStatusStreams orderStatusStreams;
 
     @Override
-    @Transactional
     public OrderDto createOrder(Authentication authentication, CreateOrderRequestDto requestDto) {
-        ShoppingCart cart = shoppingCartRepository
-                .findByUserEmail(authentication.getName())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't create order because cart doesn't exist")
-                );
-        if (cart.size() == 0) {
-            throw new CreateOrderException("Can't create order from empty cart");
-        }
-        Order order = orderMapper.toOrder(cart, requestDto);
-        cart.clear();
-        return orderMapper.toDto(orderRepository.save(order));
+        Long userId = userIdResolver.getUserId(authentication);
+        return checkoutLocks.execute(userId, () -> transactionTemplate.execute(
+                status -> placeOrder(userId, requestDto)));
+    }
+
+    @Override
+    public OrderDto createOrder(
+            Authentication authentication, CreateOrderRequestDto requestDto, String idempotencyKey
+    ) {
+        Long userId = userIdResolver.getUserId(authentication);
+        String requestHash = idempotencyKeyService.hash(requestDto);
+        return idempotencyKeyService.findResponse(userId, idempotencyKey, requestHash)
+                .orElseGet(() -> checkoutLocks.execute(userId, () -> idempotencyKeyService
+                        .findResponse(userId, idempotencyKey, requestHash)
+                        .orElseGet(() -> createOrderOnce(
+                                requestDto, userId, idempotencyKey, requestHash))));
     }
 
     @Override
     public List<OrderDto> findAll(Authentication authentication, Pageable pageable) {
-        return orderRepository.findAllByUserEmail(authentication.getName(), pageable)
-                .stream()
-                .map(orderMapper::toDto)
-                .toList();
+        Long userId = userIdResolver.getUserId(authentication);
+        return withOrderItems(orderRepository.findSummariesByUserId(userId, pageable));
+    }
+
+    @Override
+    public OrderCursorPageDto findAll(
+            Authentication authentication, String cursor, Pageable pageable
+    ) {
+        Long userId = userIdResolver.getUserId(authentication);
+        OrderKeyset keyset = cursor == null ? OrderKeyset.first() : OrderKeyset.decode(cursor);
+        int size = pageable.getPageSize();
+        List<OrderSummaryDto> orders =
+                orderRepository.findSummariesByUserIdAndKeyset(userId, keyset, size + 1);
+        if (orders.size() <= size) {
+            return new OrderCursorPageDto(withOrderItems(orders), null);
+        }
+        orders = orders.subList(0, size);
+        String nextCursor = keyset.after(orders.get(size - 1)).encode();
+        return new OrderCursorPageDto(withOrderItems(orders), nextCursor);
     }
 
     @Override
@@ -76,11 +119,71 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public OrderDto update(Long id, UpdateOrderRequestDto requestDto) {
-        Order order = orderRepository.findById(id)
+        return transactionTemplate.execute(status -> {
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Can't find order with id=%d".formatted(id))
+                    );
+            if (order.getStatus() == requestDto.status()) {
+                return orderMapper.toDto(order);
+            }
+            order.setStatus(requestDto.status());
+            OrderDto updatedOrder = orderMapper.toDto(orderRepository.save(order));
+            orderEventOutbox.append(OrderEventDto.Type.STATUS_CHANGED, updatedOrder);
+            return updatedOrder;
+        });
+    }
+
+    @Override
+    public SseEmitter streamStatuses(Authentication authentication) {
+        return orderStatusStreams.subscribe(userIdResolver.getUserId(authentication));
+    }
+
+    private List<OrderDto> withOrderItems(List<OrderSummaryDto> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItemDto>> orderItems = orderItemRepository.findRowsByOrderIdIn(
+                        orders.stream().map(OrderSummaryDto::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemRowDto::orderId,
+                        Collectors.mapping(orderItemMapper::toDto, Collectors.toList())));
+        return orders.stream()
+                .map(order -> orderMapper.toDto(
+                        order, orderItems.getOrDefault(order.id(), List.of())))
+                .toList();
+    }
+
+    private OrderDto placeOrder(Long userId, CreateOrderRequestDto requestDto) {
+        shoppingCartRepository.lockById(userId);
+        ShoppingCart cart = shoppingCartRepository.findWithItemsById(userId)
                 .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't find order with id=%d".formatted(id))
+                        "Can't create order because cart doesn't exist")
                 );
-        order.setStatus(requestDto.status());
-        return orderMapper.toDto(orderRepository.save(order));
+        if (cart.size() == 0) {
+            throw new CreateOrderException("Can't create order from empty cart");
+        }
+        Order order = orderMapper.toOrder(cart, requestDto);
+        cart.clear();
+        OrderDto placedOrder = orderMapper.toDto(orderRepository.save(order));
+        orderEventOutbox.append(OrderEventDto.Type.ORDER_CREATED, placedOrder);
+        return placedOrder;
+    }
+
+    private OrderDto createOrderOnce(CreateOrderRequestDto requestDto,
+                                     Long userId, String idempotencyKey, String requestHash) {
+        try {
+            return transactionTemplate.execute(status -> {
+                idempotencyKeyService.reserve(userId, idempotencyKey, requestHash);
+                OrderDto order = placeOrder(userId, requestDto);
+                idempotencyKeyService.complete(userId, idempotencyKey, requestHash, order);
+                return order;
+            });
+        } catch (DuplicateKeyException e) {
+            return idempotencyKeyService.findResponse(userId, idempotencyKey, requestHash)
+                    .orElseThrow(() -> new IdempotencyKeyConflictException(
+                            "Request with Idempotency-Key %s is still in progress"
+                                    .formatted(idempotencyKey)));
+        }
     }
 }
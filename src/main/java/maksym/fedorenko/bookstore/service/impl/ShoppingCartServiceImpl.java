@@ -1,33 +1,37 @@
 package maksym.fedorenko.bookstore.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
 import maksym.fedorenko.bookstore.dto.shoppingcart.CartDto;
 import maksym.fedorenko.bookstore.dto.shoppingcart.CreateCartItemRequestDto;
 import maksym.fedorenko.bookstore.dto.shoppingcart.UpdateCartItemRequestDto;
 import maksym.fedorenko.bookstore.exception.EntityNotFoundException;
-import maksym.fedorenko.bookstore.mapper.CartItemMapper;
 import maksym.fedorenko.bookstore.mapper.ShoppingCartMapper;
 import maksym.fedorenko.bookstore.model.CartItem;
 import maksym.fedorenko.bookstore.model.ShoppingCart;
-import maksym.fedorenko.bookstore.model.User;
 import maksym.fedorenko.bookstore.repository.BookRepository;
 import maksym.fedorenko.bookstore.repository.CartItemRepository;
 import maksym.fedorenko.bookstore.repository.ShoppingCartRepository;
-import maksym.fedorenko.bookstore.repository.UserRepository;
+import maksym.fedorenko.bookstore.security.UserIdResolver;
 import maksym.fedorenko.bookstore.service.ShoppingCartService;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ShoppingCartServiceImpl implements ShoppingCartService {
+    private static final int ADD_CART_ITEM_ATTEMPTS = 5;
     private final BookRepository bookRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final CartItemRepository cartItemRepository;
-    private final UserRepository userRepository;
+    private final UserIdResolver userIdResolver;
     private final ShoppingCartMapper shoppingCartMapper;
-    private final CartItemMapper cartItemMapper;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public CartDto getUserCart(Authentication authentication) {
@@ -36,19 +40,21 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     }
 
     @Override
-    @Transactional
     public CartDto addCartItem(
             Authentication authentication, CreateCartItemRequestDto requestDto) {
-        checkIfBookExists(requestDto.bookId());
-        ShoppingCart cart = shoppingCartRepository
-                .findByUserEmail(authentication.getName())
-                .orElseGet(() -> createShoppingCartForUser((User) authentication.getPrincipal()));
-        cartItemRepository.findByShoppingCartAndBookId(cart, requestDto.bookId())
-                .ifPresentOrElse(
-                        item -> item.setQuantity(item.getQuantity() + requestDto.quantity()),
-                        () -> createCartItem(requestDto, cart)
-                );
-        return shoppingCartMapper.toDto(cart);
+        Long userId = userIdResolver.getUserId(authentication);
+        Long cartItemId = cartItemRepository.nextId();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> addItem(
+                        cartItemId, userId, authentication.getName(), requestDto));
+            } catch (PessimisticLockingFailureException e) {
+                // Concurrent upserts of one cart item can deadlock; the loser is rolled back.
+                if (attempt == ADD_CART_ITEM_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
     }
 
     @Override
@@ -77,17 +83,16 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
                 ));
     }
 
-    private ShoppingCart createShoppingCartForUser(User user) {
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setUser(userRepository.getReferenceById(user.getId()));
-        return shoppingCartRepository.save(shoppingCart);
-    }
-
-    private void createCartItem(CreateCartItemRequestDto requestDto, ShoppingCart cart) {
-        CartItem cartItem = cartItemMapper.toCartItem(requestDto);
-        cart.addCartItem(cartItem);
-        cartItem.setBook(bookRepository.getReferenceById(requestDto.bookId()));
-        cartItemRepository.save(cartItem);
+    private CartDto addItem(Long cartItemId, Long userId, String email,
+            CreateCartItemRequestDto requestDto) {
+        if (cartItemRepository.addQuantity(
+                cartItemId, userId, requestDto.bookId(), requestDto.quantity()) == 0) {
+            checkIfBookExists(requestDto.bookId());
+            shoppingCartRepository.insertIfAbsent(userId);
+            cartItemRepository.addQuantity(
+                    cartItemId, userId, requestDto.bookId(), requestDto.quantity());
+        }
+        return shoppingCartMapper.toDto(getUserShoppingCart(email));
     }
 
     private CartItem findCartItemByIdAndUser(String email, Long id) {
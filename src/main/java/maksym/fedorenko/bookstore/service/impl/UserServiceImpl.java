@@ -2,8 +2,10 @@ package maksym.fedorenko.bookstore.service.impl;
 
 import static maksym.fedorenko.bookstore.model.Role.RoleName.USER;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.config.MetricsConfig;
 import maksym.fedorenko.bookstore.dto.user.UserRegistrationRequestDto;
 import maksym.fedorenko.bookstore.dto.user.UserResponseDto;
 import maksym.fedorenko.bookstore.exception.RegistrationException;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository repository;
@@ -0,0 +1,50 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import maksym.fedorenko.bookstore.exception.CheckoutInProgressException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CheckoutLocks {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private final Lock[] stripes;
+    private final long timeoutNanos;
+
+    public CheckoutLocks(
+            @Value("${checkout.lock.stripes}") int stripes,
+            @Value("${checkout.lock.timeout}") Duration timeout
+    ) {
+        this.stripes = new Lock[1 << (Integer.SIZE - Integer.numberOfLeadingZeros(stripes - 1))];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public <T> T execute(Long userId, Supplier<T> action) {
+        Lock lock = stripes[stripe(userId)];
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new CheckoutInProgressException(
+                        "Another checkout is in progress, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckoutInProgressException("Checkout was interrupted");
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripe(Long userId) {
+        return (int) ((userId * GOLDEN_RATIO) >>> 32) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,135 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.repository.order.OrderEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class OrderEventDispatcher {
+    private static final int MAX_BACKOFF_SHIFT = 20;
+    private final OrderEventRepository orderEventRepository;
+    private final List<OrderEventSink> sinks;
+    private final ThreadPoolTaskExecutor executor;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final Timer deliveryLag;
+    private final Counter failures;
+
+    public OrderEventDispatcher(
+            OrderEventRepository orderEventRepository,
+            List<OrderEventSink> sinks,
+            TaskExecutorBuilder taskExecutorBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.dispatcher.batch-size}") int batchSize,
+            @Value("${outbox.dispatcher.parallelism}") int parallelism,
+            @Value("${outbox.dispatcher.lease}") Duration lease,
+            @Value("${outbox.backoff.initial}") Duration initialBackoff,
+            @Value("${outbox.backoff.max}") Duration maxBackoff
+    ) {
+        this.orderEventRepository = orderEventRepository;
+        this.sinks = sinks;
+        this.executor = taskExecutorBuilder
+                .threadNamePrefix("outbox-")
+                .corePoolSize(parallelism)
+                .maxPoolSize(parallelism)
+                .queueCapacity(parallelism)
+                .build();
+        this.executor.initialize();
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        TimeGauge.builder("bookstore.outbox.lag", oldestPending, TimeUnit.MILLISECONDS,
+                        oldest -> oldest.get() == null ? 0 : Duration.between(
+                                oldest.get(), LocalDateTime.now()).toMillis())
+                .description("Age of the oldest undelivered order event")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("bookstore.outbox.delivery.lag")
+                .description("Time from writing an order event to its delivery")
+                .register(meterRegistry);
+        this.failures = Counter.builder("bookstore.outbox.delivery.failures")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.interval}")
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+        oldestPending.set(orderEventRepository.findOldestCreatedAt().orElse(null));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEventDto> events = orderEventRepository.claim(now, now.plus(lease), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        CompletableFuture.allOf(events.stream()
+                        .collect(Collectors.groupingBy(
+                                event -> Math.floorMod(event.orderId(), parallelism)))
+                        .values()
+                        .stream()
+                        .map(partition -> CompletableFuture.runAsync(
+                                () -> deliver(partition), executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+        return events.size();
+    }
+
+    private void deliver(List<OrderEventDto> events) {
+        try {
+            sinks.forEach(sink -> sink.send(events));
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver {} order events, will retry", events.size(), e);
+            failures.increment(events.size());
+            reschedule(events);
+            return;
+        }
+        orderEventRepository.delete(events.stream().map(OrderEventDto::id).toList());
+        LocalDateTime deliveredAt = LocalDateTime.now();
+        events.forEach(event -> deliveryLag.record(
+                Duration.between(event.createdAt(), deliveredAt)));
+    }
+
+    private void reschedule(List<OrderEventDto> events) {
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> orderEventRepository.reschedule(
+                event, now.plus(backoff(event.attempts()))));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(
+                1L << Math.min(attempts, MAX_BACKOFF_SHIFT));
+        return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+    }
+}
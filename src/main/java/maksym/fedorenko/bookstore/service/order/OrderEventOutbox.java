@@ -0,0 +1,40 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.repository.order.OrderEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class OrderEventOutbox {
+    private final OrderEventRepository orderEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Stores the event for the outbox sinks and publishes it to in-process listeners, which
+     * should use {@code @TransactionalEventListener} to see it only once the order commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEventDto.Type type, OrderDto order) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't store order event", e);
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        Long id = orderEventRepository.insert(type, order.id(), order.userId(), order.status(),
+                payload, createdAt);
+        eventPublisher.publishEvent(new OrderEventDto(id, type, order.id(), order.userId(),
+                order.status(), payload, createdAt, 0));
+    }
+}
@@ -0,0 +1,8 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+
+public interface OrderEventSink {
+    void send(List<OrderEventDto> events);
+}
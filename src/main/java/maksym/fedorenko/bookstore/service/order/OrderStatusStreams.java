@@ -0,0 +1,178 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.dto.order.OrderStatusEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Open order status streams of this instance. Only status changes committed through this
+ * instance reach them, so streaming needs a single application instance.
+ */
+@Component
+public class OrderStatusStreams {
+    private static final String STATUS_EVENT = "order-status";
+    private static final String HEARTBEAT = "heartbeat";
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor executor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter dropped;
+
+    public OrderStatusStreams(
+            TaskExecutorBuilder taskExecutorBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${order.status-stream.buffer-size}") int bufferSize,
+            @Value("${order.status-stream.send-threads}") int sendThreads,
+            @Value("${order.status-stream.send-queue-capacity}") int sendQueueCapacity,
+            @Value("${order.status-stream.timeout}") Duration timeout
+    ) {
+        this.executor = taskExecutorBuilder
+                .threadNamePrefix("order-stream-")
+                .corePoolSize(sendThreads)
+                .maxPoolSize(sendThreads)
+                .queueCapacity(sendQueueCapacity)
+                .build();
+        this.executor.initialize();
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder("bookstore.order.streams", subscriptions,
+                        streams -> streams.values().stream().mapToInt(Set::size).sum())
+                .description("Open order status streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("bookstore.order.streams.dropped")
+                .description("Status events dropped because a stream buffer was full")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        subscriptions.compute(userId, (id, streams) -> {
+            Set<Subscription> userStreams = streams == null
+                    ? ConcurrentHashMap.newKeySet()
+                    : streams;
+            userStreams.add(subscription);
+            return userStreams;
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEventDto event) {
+        if (event.type() != OrderEventDto.Type.STATUS_CHANGED) {
+            return;
+        }
+        Set<Subscription> userStreams = subscriptions.get(event.userId());
+        if (userStreams == null) {
+            return;
+        }
+        Message message = new Message(String.valueOf(event.id()), new OrderStatusEventDto(
+                event.orderId(), event.status(), event.createdAt()));
+        userStreams.forEach(subscription -> subscription.offer(message));
+    }
+
+    @Scheduled(fixedRateString = "${order.status-stream.heartbeat}",
+            initialDelayString = "${order.status-stream.heartbeat}")
+    public void heartbeat() {
+        subscriptions.values().forEach(userStreams -> userStreams.forEach(
+                Subscription::offerHeartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId, (id, streams) -> {
+            streams.remove(subscription);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private record Message(String id, OrderStatusEventDto status) {
+        private SseEmitter.SseEventBuilder toEvent() {
+            return status == null
+                    ? SseEmitter.event().comment(HEARTBEAT)
+                    : SseEmitter.event().id(id).name(STATUS_EVENT).data(status);
+        }
+    }
+
+    private class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Message message) {
+            while (!buffer.offer(message)) {
+                if (buffer.poll() != null) {
+                    dropped.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void offerHeartbeat() {
+            if (buffer.isEmpty() && buffer.offer(new Message(null, null))) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    // Messages stay buffered and the next event or heartbeat retries.
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                buffer.clear();
+                emitter.complete();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import java.time.Duration;
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@ConditionalOnProperty("outbox.webhook.url")
+public class WebhookOrderEventSink implements OrderEventSink {
+    private final RestTemplate restTemplate;
+    private final String url;
+
+    public WebhookOrderEventSink(
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${outbox.webhook.url}") String url,
+            @Value("${outbox.webhook.timeout}") Duration timeout
+    ) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+        this.url = url;
+    }
+
+    @Override
+    public void send(List<OrderEventDto> events) {
+        restTemplate.postForEntity(url, events, Void.class);
+    }
+}
@@ -0,0 +1,33 @@
+package maksym.fedorenko.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import maksym.fedorenko.bookstore.monitoring.SqlStatementCountFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+public final class QueryCountMatchers {
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher queryCount(int expected) {
+        return result -> assertThat(getQueryCount(result))
+                .as("SQL statements executed by the request")
+                .isEqualTo(expected);
+    }
+
+    public static ResultMatcher queryCountAtMost(int maximum) {
+        return result -> assertThat(getQueryCount(result))
+                .as("SQL statements executed by the request")
+                .isLessThanOrEqualTo(maximum);
+    }
+
+    private static int getQueryCount(MvcResult result) {
+        String header = result.getResponse()
+                .getHeader(SqlStatementCountFilter.QUERY_COUNT_HEADER);
+        assertThat(header)
+                .as(SqlStatementCountFilter.QUERY_COUNT_HEADER + " header")
+                .isNotNull();
+        return Integer.parseInt(header);
+    }
+}
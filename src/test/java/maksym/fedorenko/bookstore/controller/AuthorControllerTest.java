@@ -0,0 +1,82 @@
+package maksym.fedorenko.bookstore.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.SneakyThrows;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
+import maksym.fedorenko.bookstore.dto.book.BookDto;
+import maksym.fedorenko.bookstore.dto.exception.ErrorResponseWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {
+        "classpath:database/categories/add-default-categories.sql",
+        "classpath:database/books/add-default-books-with-categories.sql"
+})
+@Sql(scripts = {
+        "classpath:database/books/delete-all-books.sql",
+        "classpath:database/categories/delete-all-categories.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+class AuthorControllerTest {
+    protected static MockMvc mockMvc;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    @SneakyThrows
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    @DisplayName("Get books by existent author id page by page")
+    @WithMockUser(username = "user", roles = "USER")
+    void getBooksByAuthorId_WithExistentId_Success() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/authors/2/books"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookCursorPageDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookCursorPageDto.class
+        );
+
+        assertThat(actual.nextCursor()).isNull();
+        assertThat(actual.books())
+                .extracting(BookDto::getId, BookDto::getAuthor)
+                .containsExactly(tuple(2L, "Robert Martin"));
+    }
+
+    @Test
+    @DisplayName("Get books by non-existent author id")
+    @WithMockUser(username = "user", roles = "USER")
+    void getBooksByAuthorId_WithNonExistentId_NotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/authors/100/books"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ErrorResponseWrapper error = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ErrorResponseWrapper.class
+        );
+        assertThat(error.details()).isEqualTo("Author with id=100 doesn't exist");
+    }
+}
@@ -1,6 +1,8 @@
 package maksym.fedorenko.bookstore.controller;
 
+import static maksym.fedorenko.bookstore.config.QueryCountMatchers.queryCount;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,22 +12,29 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import lombok.SneakyThrows;
+import maksym.fedorenko.bookstore.config.CacheConfig;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
 import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
 import maksym.fedorenko.bookstore.dto.book.UpdateBookRequestDto;
 import maksym.fedorenko.bookstore.dto.exception.ErrorResponseWrapper;
 import maksym.fedorenko.bookstore.dto.exception.ErrorsResponseWrapper;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
+import maksym.fedorenko.bookstore.service.BookService;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
@@ -48,6 +57,14 @@ import org.springframework.web.context.WebApplicationContext;
 public class BookControllerTest {
     protected static MockMvc mockMvc;
     private static ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
 
     @BeforeAll
     @SneakyThrows
@@ -59,6 +76,12 @@ public class BookControllerTest {
         objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     }
 
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
     @Test
     @DisplayName("Create valid book")
     @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
@@ -70,7 +93,8 @@ public class BookControllerTest {
                 BigDecimal.valueOf(30),
                 null,
                 null,
-                List.of(1L)
+                List.of(1L),
+                null
         );
 
         MvcResult result = mockMvc.perform(post("/api/books")
@@ -104,6 +128,7 @@ public class BookControllerTest {
                 BigDecimal.valueOf(30),
                 null,
                 null,
+                null,
                 null
         );
 
@@ -176,6 +201,7 @@ public class BookControllerTest {
         MvcResult result = mockMvc.perform(get("/api/books")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(queryCount(2))
                 .andReturn();
 
         List<BookDto> actual = Arrays.stream(
@@ -209,6 +235,7 @@ public class BookControllerTest {
                         .params(requestParams)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(queryCount(2))
                 .andReturn();
 
         List<Long> actual = Arrays.stream(
@@ -220,6 +247,24 @@ public class BookControllerTest {
                 .containsExactlyInAnyOrder(1L, 5L);
     }
 
+    @Test
+    @DisplayName("Filter books by author ids")
+    @WithMockUser(username = "user", roles = "USER")
+    @Sql(scripts = "classpath:database/books/add-default-books-with-categories.sql")
+    void searchBooks_ByAuthorIds_Success() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("authorId", "1", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<Long> actual = Arrays.stream(
+                objectMapper.readValue(result.getResponse().getContentAsString(), BookDto[].class)
+        ).map(BookDto::getId).toList();
+
+        assertThat(actual).containsExactlyInAnyOrder(1L, 5L);
+    }
+
     @Test
     @DisplayName("Filter books with invalid parameter price")
     @WithMockUser(username = "user", roles = "USER")
@@ -249,7 +294,8 @@ public class BookControllerTest {
                 BigDecimal.valueOf(30),
                 null,
                 null,
-                List.of(3L)
+                List.of(3L),
+                null
         );
 
         MvcResult result = mockMvc.perform(put("/api/books/" + id)
@@ -272,6 +318,54 @@ public class BookControllerTest {
                 .hasFieldOrPropertyWithValue("categoryIds", Collections.singletonList(3L));
     }
 
+    @Test
+    @DisplayName("Update book authors by ids")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database/books/add-default-books-with-categories.sql")
+    void updateBook_WithAuthorIds_BookListedUnderEachAuthor() throws Exception {
+        UpdateBookRequestDto requestDto = new UpdateBookRequestDto(
+                null, null, null, null, null, null, List.of(1L), List.of(1L, 2L)
+        );
+
+        mockMvc.perform(put("/api/books/1")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("authorId", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<Long> actual = Arrays.stream(
+                objectMapper.readValue(result.getResponse().getContentAsString(), BookDto[].class)
+        ).map(BookDto::getId).toList();
+        assertThat(actual).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Create book with an author name differing only in case")
+    @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+    @Sql(scripts = "classpath:database/books/add-one-book-with-categories.sql")
+    void createBook_ExistingAuthorInOtherCase_LinkExistingAuthor() throws Exception {
+        CreateBookRequestDto requestDto = new CreateBookRequestDto(
+                "Java Puzzlers", "JOSHUA BLOCH", "1456789101", BigDecimal.valueOf(30),
+                null, null, List.of(1L), null
+        );
+
+        mockMvc.perform(post("/api/books")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("authorId", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookDto[].class))
+                .hasSize(2);
+    }
+
     @Test
     @DisplayName("Delete book by existent id")
     @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
@@ -295,4 +389,24 @@ public class BookControllerTest {
                 .andExpect(status().isForbidden())
                 .andReturn();
     }
+
+    @Test
+    @DisplayName("Rolled back book is not added to the search index")
+    @Sql(scripts = "classpath:database/books/add-one-book-with-categories.sql")
+    void createBook_DuplicateIsbn_NotIndexed() {
+        CreateBookRequestDto requestDto = new CreateBookRequestDto(
+                "Hogwarts Duplicate",
+                "J. K. Rowling",
+                "1234567890",
+                BigDecimal.valueOf(30),
+                null,
+                null,
+                List.of(1L),
+                null
+        );
+
+        assertThatThrownBy(() -> bookService.save(requestDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(bookSearchIndex.search("hogwarts", 0, 10)).isEmpty();
+    }
 }
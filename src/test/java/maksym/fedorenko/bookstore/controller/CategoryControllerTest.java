@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +21,7 @@ import maksym.fedorenko.bookstore.dto.category.CreateCategoryRequestDto;
 import maksym.fedorenko.bookstore.dto.category.UpdateCategoryRequestDto;
 import maksym.fedorenko.bookstore.dto.exception.ErrorResponseWrapper;
 import maksym.fedorenko.bookstore.dto.exception.ErrorsResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,6 +44,8 @@ import org.springframework.web.context.WebApplicationContext;
 class CategoryControllerTest {
     protected static MockMvc mockMvc;
     private static ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @BeforeAll
     @SneakyThrows
@@ -53,6 +57,11 @@ class CategoryControllerTest {
         objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     }
 
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
     @Test
     @DisplayName("Create valid category")
     @WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
@@ -0,0 +1,227 @@
+package maksym.fedorenko.bookstore.controller;
+
+import static maksym.fedorenko.bookstore.config.QueryCountMatchers.queryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import maksym.fedorenko.bookstore.dto.order.OrderCursorPageDto;
+import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.service.order.OrderEventDispatcher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {
+        "classpath:database/auth/add-default-users.sql",
+        "classpath:database/shopping_cart/add-one-item.sql"})
+@Sql(scripts = {
+        "classpath:database/orders/delete-all-orders.sql",
+        "classpath:database/shopping_cart/delete-all-items.sql",
+        "classpath:database/auth/delete-users.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+@SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+public class OrderControllerTest {
+    private static final int CHECKOUTS = 200;
+    private static final String ORDER_REQUEST = "{\"shippingAddress\":\"Kyiv\"}";
+    private static MockMvc mockMvc;
+    private static ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private OrderEventDispatcher orderEventDispatcher;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    @DisplayName("Parallel checkouts of one cart place exactly one order")
+    void createOrder_ParallelCheckouts_CreateSingleOrder() throws Exception {
+        Map<Integer, Long> statuses = checkoutInParallel(index -> null);
+
+        assertThat(statuses).containsEntry(201, 1L);
+        assertThat(statuses.keySet()).isSubsetOf(201, 400, 409);
+        assertThat(countOrders()).isEqualTo(1);
+        assertThat(countOrderEvents()).isEqualTo(1);
+
+        orderEventDispatcher.dispatch();
+
+        assertThat(countOrderEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("Parallel retries with one Idempotency-Key replay the placed order")
+    void createOrder_ParallelRetriesWithSameKey_ReplayOrder() throws Exception {
+        Map<Integer, Long> statuses = checkoutInParallel(index -> "retried-checkout");
+
+        assertThat(statuses).containsOnlyKeys(201);
+        assertThat(countOrders()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Order history is paged newest first by cursor")
+    @WithMockUser(username = "user@gmail.com", roles = "USER")
+    @Sql(scripts = "classpath:database/orders/add-orders-with-items.sql")
+    void findAllByCursor_ThreeOrders_ReturnTwoPages() throws Exception {
+        OrderCursorPageDto firstPage = getOrderPage(get("/api/orders/scroll").param("size", "2"));
+
+        assertThat(firstPage.orders())
+                .extracting(OrderDto::id, order -> order.orderItems().size())
+                .containsExactly(tuple(3L, 1), tuple(2L, 2));
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        OrderCursorPageDto secondPage = getOrderPage(get("/api/orders/scroll")
+                .param("size", "2")
+                .param("cursor", firstPage.nextCursor()));
+
+        assertThat(secondPage.orders())
+                .extracting(OrderDto::id)
+                .containsExactly(1L);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Order history is paged by offset in the requested sort order")
+    @WithMockUser(username = "user@gmail.com", roles = "USER")
+    @Sql(scripts = "classpath:database/orders/add-orders-with-items.sql")
+    void findAll_SortedByTotal_ReturnOrdersInSortOrder() throws Exception {
+        List<OrderDto> orders = getOrders(get("/api/orders")
+                .param("sort", "total,desc")
+                .param("sort", "id,asc"));
+
+        assertThat(orders)
+                .extracting(OrderDto::id, order -> order.orderItems().size())
+                .containsExactly(tuple(2L, 2), tuple(1L, 1), tuple(3L, 1));
+    }
+
+    @Test
+    @DisplayName("Unsorted order history is paged by offset newest first")
+    @WithMockUser(username = "user@gmail.com", roles = "USER")
+    @Sql(scripts = "classpath:database/orders/add-orders-with-items.sql")
+    void findAll_Unsorted_ReturnNewestOrdersFirst() throws Exception {
+        List<OrderDto> orders = getOrders(get("/api/orders").param("size", "2"));
+
+        assertThat(orders).extracting(OrderDto::id).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Order status change is pushed to the owner's open stream")
+    @Sql(scripts = "classpath:database/orders/add-orders-with-items.sql")
+    void streamStatuses_StatusChanged_PushStatusEvent() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/orders/stream")
+                        .with(user("user@gmail.com").roles("USER")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(patch("/api/orders/3")
+                        .with(user("admin@gmail.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PREPARING\"}"))
+                .andExpect(status().isOk());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stream.getResponse().getContentAsString().contains("PREPARING")
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("event:order-status")
+                .contains("\"orderId\":3,\"status\":\"PREPARING\"");
+    }
+
+    private List<OrderDto> getOrders(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return List.of(objectMapper.readValue(
+                result.getResponse().getContentAsString(), OrderDto[].class));
+    }
+
+    private OrderCursorPageDto getOrderPage(MockHttpServletRequestBuilder request)
+            throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(queryCount(3))
+                .andReturn();
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(), OrderCursorPageDto.class);
+    }
+
+    private Map<Integer, Long> checkoutInParallel(Function<Integer, String> idempotencyKey)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CHECKOUTS; i++) {
+                String key = idempotencyKey.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    MockHttpServletRequestBuilder request = post("/api/orders")
+                            .with(user("user@gmail.com").roles("USER"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(ORDER_REQUEST);
+                    if (key != null) {
+                        request.header("Idempotency-Key", key);
+                    }
+                    return mockMvc.perform(request).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                statuses.add(result.get(60, TimeUnit.SECONDS));
+            }
+            return statuses.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Integer countOrders() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+    }
+
+    private Integer countOrderEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events", Integer.class);
+    }
+}
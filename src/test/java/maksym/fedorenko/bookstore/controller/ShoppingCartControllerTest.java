@@ -1,6 +1,8 @@
 package maksym.fedorenko.bookstore.controller;
 
+import static maksym.fedorenko.bookstore.config.QueryCountMatchers.queryCountAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,6 +12,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import maksym.fedorenko.bookstore.dto.exception.ErrorResponseWrapper;
 import maksym.fedorenko.bookstore.dto.shoppingcart.CartDto;
@@ -23,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlMergeMode;
@@ -40,8 +50,11 @@ import org.springframework.web.context.WebApplicationContext;
 )
 @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
 public class ShoppingCartControllerTest {
+    private static final int PARALLEL_ADDS = 50;
     private static MockMvc mockMvc;
     private static ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeAll
     @SneakyThrows
@@ -60,6 +73,7 @@ public class ShoppingCartControllerTest {
     public void getUserCart_WithExistingUser_Success() throws Exception {
         MvcResult result = mockMvc.perform(get("/api/cart"))
                 .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2))
                 .andReturn();
 
         CartDto actual = objectMapper.readValue(
@@ -122,7 +136,6 @@ public class ShoppingCartControllerTest {
                 .asInstanceOf(InstanceOfAssertFactories.list(CartItemDto.class))
                 .hasSize(1)
                 .element(0)
-                .hasFieldOrPropertyWithValue("id", 1L)
                 .hasFieldOrPropertyWithValue("bookId", 1L)
                 .hasFieldOrPropertyWithValue("bookTitle", "Effective Java")
                 .hasFieldOrPropertyWithValue("quantity", 2);
@@ -263,4 +276,37 @@ public class ShoppingCartControllerTest {
                 .startsWith("Can't find cart item with id=%d in user's cart with email"
                         .formatted(id));
     }
+
+    @Test
+    @DisplayName("Parallel first adds create one cart and sum the quantities")
+    @Sql(scripts = "classpath:database/books/add-one-book.sql")
+    public void addCartItem_ParallelAddsWithoutCart_AddAllQuantities() throws Exception {
+        jdbcTemplate.update("DELETE FROM shopping_carts WHERE id = 1");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_ADDS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/cart")
+                                    .with(user("user@gmail.com").roles("USER"))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(
+                                            new CreateCartItemRequestDto(1L, 1))))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT quantity FROM cart_items WHERE shopping_cart_id = 1", Integer.class))
+                .isEqualTo(PARALLEL_ADDS);
+    }
 }
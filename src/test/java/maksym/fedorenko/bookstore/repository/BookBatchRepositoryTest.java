@@ -0,0 +1,98 @@
+package maksym.fedorenko.bookstore.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
+import maksym.fedorenko.bookstore.model.Author;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.model.IdGenerators;
+import maksym.fedorenko.bookstore.repository.book.BookBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookBatchRepository.class)
+@Sql(scripts = "classpath:database/books/delete-all-books.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookBatchRepositoryTest {
+    private static final int RESERVED = 10;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private BookBatchRepository bookBatchRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Reserved ids never overlap ids generated by Hibernate")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void reserveIds_BetweenJpaSaves_ReturnRangeDisjointFromGeneratedIds() {
+        List<Long> generatedIds = new ArrayList<>();
+        generatedIds.add(bookRepository.save(createBook(0)).getId());
+        long firstReserved = bookBatchRepository.reserveIds(RESERVED);
+        long lastReserved = firstReserved + RESERVED - 1;
+        for (int i = 1; i <= IdGenerators.ALLOCATION_SIZE + 1; i++) {
+            generatedIds.add(bookRepository.save(createBook(i)).getId());
+        }
+
+        assertThat(generatedIds)
+                .doesNotHaveDuplicates()
+                .noneMatch(id -> id >= firstReserved && id <= lastReserved);
+    }
+
+    @Test
+    @DisplayName("Imported books link to the author whose name differs only in case")
+    void insertAuthors_NameDiffersInCase_LinkExistingAuthor() {
+        Long authorId = authorRepository.save(new Author("Joshua Bloch")).getId();
+        List<CreateBookRequestDto> books = List.of(
+                createRequestDto("978-0-00-000001", "JOSHUA BLOCH"),
+                createRequestDto("978-0-00-000002", "joshua bloch"));
+        Map<String, Long> bookIds = bookBatchRepository.insertAll(
+                books, bookBatchRepository.reserveIds(books.size()));
+
+        bookBatchRepository.insertAuthors(books, bookIds);
+
+        assertThat(authorRepository.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT author_id FROM books_authors", Long.class))
+                .containsExactly(authorId, authorId);
+    }
+
+    private CreateBookRequestDto createRequestDto(String isbn, String author) {
+        return new CreateBookRequestDto("Effective Java", author, isbn, BigDecimal.TEN,
+                null, null, List.of(), null);
+    }
+
+    private Book createBook(int index) {
+        Book book = new Book();
+        book.setTitle("Generated " + index);
+        book.setAuthor("Generator");
+        book.setIsbn("978-0-00-%06d".formatted(index));
+        book.setPrice(BigDecimal.TEN);
+        return book;
+    }
+}
@@ -2,11 +2,15 @@ package maksym.fedorenko.bookstore.repository;
 
 import static maksym.fedorenko.bookstore.model.QBook.book;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.querydsl.core.types.Predicate;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import maksym.fedorenko.bookstore.config.SqlStatementCollector;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
 import maksym.fedorenko.bookstore.model.Book;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,9 +19,11 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "maksym.fedorenko.bookstore.config.SqlStatementCollector")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = {"classpath:database/categories/add-default-categories.sql",
         "classpath:database/books/add-default-books-with-categories.sql"
@@ -69,4 +75,27 @@ class BookRepositoryTest {
         assertEquals(1, actual.getTotalElements());
         assertEquals(3L, actual.getContent().get(0).getId());
     }
+
+    @Test
+    @DisplayName("Find page of book projections with limit in SQL")
+    void findDtos_SecondPageSortedById_ReturnDtosUsingLimit() {
+        SqlStatementCollector.clear();
+        List<BookDtoWithoutCategories> actual = bookRepository.findDtos(
+                null, PageRequest.of(1, 2, Sort.by("id"))
+        );
+        assertEquals(List.of(3L, 4L), actual.stream().map(BookDtoWithoutCategories::id).toList());
+        assertTrue(SqlStatementCollector.statements()
+                .stream()
+                .anyMatch(sql -> sql.toLowerCase().contains(" limit ")));
+    }
+
+    @Test
+    @DisplayName("Find category ids of books")
+    void findCategoryIdsByBookIdIn_ExistentIds_ReturnPairs() {
+        List<BookCategoryIdDto> actual = bookRepository.findCategoryIdsByBookIdIn(
+                List.of(1L, 5L)
+        );
+        assertEquals(3, actual.size());
+        assertTrue(actual.contains(new BookCategoryIdDto(5L, 1L)));
+    }
 }
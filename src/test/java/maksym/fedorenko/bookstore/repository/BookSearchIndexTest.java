@@ -0,0 +1,83 @@
+package maksym.fedorenko.bookstore.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(bookRepository);
+        bookSearchIndex.index(createBook(1L, "Effective Java", "Joshua Bloch", null));
+        bookSearchIndex.index(createBook(2L, "Clean Code", "Robert Martin",
+                "Examples are written in Java"));
+        bookSearchIndex.index(createBook(3L, "Java Concurrency in Practice", "Brian Goetz",
+                "Java threads, locks and the Java memory model"));
+    }
+
+    @Test
+    @DisplayName("Search ranks books by relevance")
+    void search_CommonTerm_ReturnBooksOrderedByScore() {
+        assertThat(bookSearchIndex.search("java", 0, 10))
+                .containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Search skips offset and limits result size")
+    void search_WithOffsetAndLimit_ReturnRequestedPage() {
+        assertThat(bookSearchIndex.search("java", 1, 1))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Search does not return removed and reflects updated books")
+    void search_AfterRemoveAndUpdate_ReturnCurrentBooks() {
+        bookSearchIndex.remove(3L);
+        bookSearchIndex.index(createBook(1L, "Effective Kotlin", "Marcin Moskala", null));
+
+        assertThat(bookSearchIndex.search("java", 0, 10)).containsExactly(2L);
+        assertThat(bookSearchIndex.search("KOTLIN", 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Search ranks the same after many updates compact deleted documents")
+    void search_AfterManyUpdates_ReturnSameRanking() {
+        for (int i = 0; i < 3000; i++) {
+            bookSearchIndex.index(createBook(4L, "Draft " + i, "Editor", null));
+            bookSearchIndex.index(createBook(2L, "Clean Code", "Robert Martin",
+                    "Examples are written in Java"));
+        }
+        bookSearchIndex.remove(4L);
+
+        assertThat(bookSearchIndex.search("java", 0, 10)).containsExactly(3L, 1L, 2L);
+        assertThat(bookSearchIndex.search("draft", 0, 10)).isEmpty();
+        assertThat(bookSearchIndex.search("clean", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Search by unknown term")
+    void search_UnknownTerm_ReturnEmptyList() {
+        assertThat(bookSearchIndex.search("python", 0, 10)).isEmpty();
+    }
+
+    private Book createBook(Long id, String title, String author, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setDescription(description);
+        return book;
+    }
+}
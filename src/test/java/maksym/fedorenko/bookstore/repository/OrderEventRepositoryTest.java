@@ -0,0 +1,55 @@
+package maksym.fedorenko.bookstore.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.model.Order;
+import maksym.fedorenko.bookstore.repository.order.OrderEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OrderEventRepository.class)
+class OrderEventRepositoryTest {
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Test
+    @DisplayName("Events written while an older event of the order backs off wait for it")
+    void claim_OlderEventBackingOff_SkipLaterEventsOfSameOrder() {
+        insert(1L, Order.Status.NEW);
+        OrderEventDto failed = claim(now).get(0);
+        orderEventRepository.reschedule(failed, now.plusHours(1));
+        insert(1L, Order.Status.PREPARING);
+        insert(2L, Order.Status.NEW);
+
+        assertThat(claim(now))
+                .extracting(OrderEventDto::orderId, OrderEventDto::status)
+                .containsExactly(tuple(2L, Order.Status.NEW));
+        assertThat(claim(now.plusHours(2)))
+                .extracting(OrderEventDto::orderId, OrderEventDto::status)
+                .containsExactly(
+                        tuple(1L, Order.Status.NEW),
+                        tuple(1L, Order.Status.PREPARING),
+                        tuple(2L, Order.Status.NEW));
+    }
+
+    private List<OrderEventDto> claim(LocalDateTime at) {
+        return orderEventRepository.claim(at, at.plusMinutes(1), 10);
+    }
+
+    private void insert(Long orderId, Order.Status status) {
+        orderEventRepository.insert(OrderEventDto.Type.STATUS_CHANGED, orderId, 1L, status,
+                "{}", now.minusMinutes(1));
+    }
+}
@@ -0,0 +1,48 @@
+package maksym.fedorenko.bookstore.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(5, 1, 4, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Encode and match password on hashing executor")
+    void matches_EncodedPassword_ReturnTrueAndRecordLatency() {
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.hash").tag("operation", "matches")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Request rehash when stored cost differs from configured")
+    void upgradeEncoding_DifferentCost_ReturnTrue() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pass")))
+                .isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pass")))
+                .isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("pass")))
+                .isFalse();
+    }
+}
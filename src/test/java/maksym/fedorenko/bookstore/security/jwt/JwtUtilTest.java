@@ -0,0 +1,83 @@
+package maksym.fedorenko.bookstore.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import java.util.List;
+import java.util.Set;
+import maksym.fedorenko.bookstore.model.Role;
+import maksym.fedorenko.bookstore.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtUtilTest {
+    private static final String SECRET = "somesecretkey-10-=1=falkaflk91900913fkjaf19080";
+
+    @Test
+    @DisplayName("Parse valid token once and serve repeated requests from cache")
+    void parseToken_SameTokenTwice_ReturnCachedClaims() {
+        JwtUtil jwtUtil = createJwtUtil(60_000);
+        String token = jwtUtil.generateToken(createUser());
+
+        Claims first = jwtUtil.parseToken(token);
+        Claims second = jwtUtil.parseToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("user@gmail.com");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Parse token with tampered signature")
+    void parseToken_TamperedSignature_ShouldThrowException() {
+        JwtUtil jwtUtil = createJwtUtil(60_000);
+        String token = jwtUtil.generateToken(createUser());
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Parse expired token")
+    void parseToken_ExpiredToken_ShouldThrowException() {
+        JwtUtil jwtUtil = createJwtUtil(-60_000);
+        String token = jwtUtil.generateToken(createUser());
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Generate token with user id, roles and token version claims")
+    void generateToken_UserWithRoles_ContainsPrincipalClaims() {
+        JwtUtil jwtUtil = createJwtUtil(60_000);
+
+        Claims claims = jwtUtil.parseToken(jwtUtil.generateToken(createUser()));
+
+        assertThat(claims.get(JwtUtil.USER_ID_CLAIM, Long.class)).isEqualTo(1L);
+        assertThat(claims.get(JwtUtil.ROLES_CLAIM, List.class)).containsExactly("ROLE_USER");
+        assertThat(claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class)).isEqualTo(3);
+    }
+
+    private User createUser() {
+        Role role = new Role();
+        role.setName(Role.RoleName.USER);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@gmail.com");
+        user.setTokenVersion(3);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private JwtUtil createJwtUtil(long expiration) {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,144 @@
+package maksym.fedorenko.bookstore.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookImportErrorDto;
+import maksym.fedorenko.bookstore.dto.book.BookImportResultDto;
+import maksym.fedorenko.bookstore.mapper.BookMapperImpl;
+import maksym.fedorenko.bookstore.model.Book;
+import maksym.fedorenko.bookstore.repository.AuthorRepository;
+import maksym.fedorenko.bookstore.repository.CategoryRepository;
+import maksym.fedorenko.bookstore.repository.book.BookBatchRepository;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
+import maksym.fedorenko.bookstore.service.impl.BookImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+    @Mock
+    private BookBatchRepository bookBatchRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportServiceImpl(
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                bookBatchRepository,
+                categoryRepository,
+                authorRepository,
+                bookSearchIndex,
+                new BookMapperImpl()
+        );
+    }
+
+    @Test
+    @DisplayName("Import CSV rows skipping invalid, duplicated and unknown category rows")
+    void importFromCsv_MixedRows_InsertValidRowsAndReportErrors() throws IOException {
+        String csv = """
+                title,author,isbn,price,categoryIds
+                Effective Java,Joshua Bloch,1234567890,20.50,1;2
+                Clean Code,Robert Martin,1234567891,-1,1
+                Refactoring,Martin Fowler,1234567890,15,
+                Java Puzzlers,Joshua Bloch,1234567892,12,3
+                Java Concurrency,Brian Goetz,1234567893,30,
+                """;
+        when(bookBatchRepository.findIdsByIsbnIn(anyCollection())).thenReturn(Map.of());
+        when(categoryRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(bookBatchRepository.reserveIds(2)).thenReturn(10L);
+        when(bookBatchRepository.insertAll(any(), eq(10L))).thenReturn(
+                Map.of("1234567890", 10L, "1234567893", 11L));
+
+        BookImportResultDto actual = bookImportService.importFromCsv(toStream(csv));
+
+        assertThat(actual.imported()).isEqualTo(2);
+        assertThat(actual.failed()).isEqualTo(3);
+        assertThat(actual.errors())
+                .extracting(BookImportErrorDto::row, BookImportErrorDto::message)
+                .containsExactly(
+                        tuple(2L, "price must be greater than 0"),
+                        tuple(3L, "Book with isbn 1234567890 already exists"),
+                        tuple(4L, "Can't find categories by ids: [3]")
+                );
+        verify(bookBatchRepository).insertCategories(List.of(
+                new BookCategoryIdDto(10L, 1L), new BookCategoryIdDto(10L, 2L)));
+        verify(bookBatchRepository).insertAuthors(anyList(), anyMap());
+        verify(bookSearchIndex, times(2)).index(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Import newline-delimited JSON skipping rows of existing books")
+    void importFromJson_ExistingIsbn_ReportErrorWithoutInsert() throws IOException {
+        String json = """
+                {"title":"Effective Java","author":"Joshua Bloch","isbn":"1234567890",\
+                "price":20,"categoryIds":[]}
+                """;
+        when(bookBatchRepository.findIdsByIsbnIn(List.of("1234567890")))
+                .thenReturn(Map.of("1234567890", 1L));
+
+        BookImportResultDto actual = bookImportService.importFromJson(toStream(json));
+
+        assertThat(actual.imported()).isZero();
+        assertThat(actual.errors()).containsExactly(
+                new BookImportErrorDto(1L, "Book with isbn 1234567890 already exists"));
+        verify(bookBatchRepository, never()).reserveIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("Import JSON rows skipping rows with unknown author ids")
+    void importFromJson_UnknownAuthorId_ReportErrorWithoutInsert() throws IOException {
+        String json = """
+                {"title":"Java Puzzlers","author":"Joshua Bloch","isbn":"1234567890",\
+                "price":20,"categoryIds":[],"authorIds":[1,2]}
+                """;
+        when(bookBatchRepository.findIdsByIsbnIn(List.of("1234567890"))).thenReturn(Map.of());
+        when(authorRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(1L));
+
+        BookImportResultDto actual = bookImportService.importFromJson(toStream(json));
+
+        assertThat(actual.imported()).isZero();
+        assertThat(actual.errors()).containsExactly(
+                new BookImportErrorDto(1L, "Can't find authors by ids: [2]"));
+        verify(bookBatchRepository, never()).reserveIds(anyInt());
+    }
+
+    private InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,20 +2,31 @@ package maksym.fedorenko.bookstore.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import maksym.fedorenko.bookstore.dto.book.BookCategoryIdDto;
+import maksym.fedorenko.bookstore.dto.book.BookCursorPageDto;
 import maksym.fedorenko.bookstore.dto.book.BookDto;
+import maksym.fedorenko.bookstore.dto.book.BookDtoWithoutCategories;
+import maksym.fedorenko.bookstore.dto.book.BookExportRowDto;
 import maksym.fedorenko.bookstore.dto.book.CreateBookRequestDto;
 import maksym.fedorenko.bookstore.dto.book.UpdateBookRequestDto;
 import maksym.fedorenko.bookstore.exception.EntityNotFoundException;
@@ -23,8 +34,11 @@ import maksym.fedorenko.bookstore.mapper.BookMapper;
 import maksym.fedorenko.bookstore.mapper.BookMapperImpl;
 import maksym.fedorenko.bookstore.model.Book;
 import maksym.fedorenko.bookstore.model.Category;
+import maksym.fedorenko.bookstore.repository.AuthorRepository;
 import maksym.fedorenko.bookstore.repository.BookRepository;
 import maksym.fedorenko.bookstore.repository.CategoryRepository;
+import maksym.fedorenko.bookstore.repository.book.BookKeyset;
+import maksym.fedorenko.bookstore.repository.book.BookSearchIndex;
 import maksym.fedorenko.bookstore.service.impl.BookServiceImpl;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
@@ -34,6 +48,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTest {
@@ -41,6 +58,10 @@ public class BookServiceTest {
     private BookRepository bookRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
     @Spy
     private BookMapper bookMapper = new BookMapperImpl();
     @InjectMocks
@@ -89,7 +110,8 @@ public class BookServiceTest {
                 BigDecimal.valueOf(10),
                 null,
                 null,
-                List.of(1L, 2L)
+                List.of(1L, 2L),
+                null
         );
 
         Category category1 = new Category();
@@ -105,6 +127,7 @@ public class BookServiceTest {
         book.setCategories(Set.of(category1, category2));
 
         when(categoryRepository.getReferenceById(anyLong())).thenReturn(category1, category2);
+        when(authorRepository.findLastInsertId()).thenReturn(1L);
         when(bookRepository.save(book)).thenReturn(book);
 
         BookDto bookDto = bookService.save(requestDto);
@@ -126,7 +149,8 @@ public class BookServiceTest {
         CreateBookRequestDto requestDto = new CreateBookRequestDto(
                 "Clean Code", "Robert Martin", "1234567890",
                 BigDecimal.valueOf(10), null, null,
-                List.of(categoryId)
+                List.of(categoryId),
+                null
         );
 
         when(categoryRepository.getReferenceById(categoryId))
@@ -137,6 +161,23 @@ public class BookServiceTest {
         assertThrows(EntityNotFoundException.class, () -> bookService.save(requestDto));
     }
 
+    @Test
+    @DisplayName("Create book with non-existent author id")
+    void save_AuthorIdDoesNotExist_ShouldThrowException() {
+        CreateBookRequestDto requestDto = new CreateBookRequestDto(
+                "Clean Code", "Robert Martin", "1234567890",
+                BigDecimal.valueOf(10), null, null,
+                List.of(), List.of(1L, 2L)
+        );
+
+        when(authorRepository.findIdsByIdIn(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        assertThatThrownBy(() -> bookService.save(requestDto))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Can't find authors by ids: [2]");
+        verify(bookRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Update book by existent id")
     void update_WithExistingId_ReturnBookDto() {
@@ -148,7 +189,8 @@ public class BookServiceTest {
                 BigDecimal.valueOf(30),
                 null,
                 null,
-                Collections.emptyList()
+                Collections.emptyList(),
+                null
         );
 
         Category category = new Category();
@@ -162,6 +204,7 @@ public class BookServiceTest {
         book.setCategories(Set.of(category));
 
         when(bookRepository.findById(id)).thenReturn(Optional.of(book));
+        when(authorRepository.findLastInsertId()).thenReturn(2L);
         when(bookRepository.save(book)).thenReturn(book);
 
         BookDto bookDto = bookService.update(id, requestDto);
@@ -202,4 +245,72 @@ public class BookServiceTest {
         verify(bookRepository, times(1)).existsById(id);
         verifyNoMoreInteractions(bookRepository);
     }
+
+    @Test
+    @DisplayName("Find first page of books by cursor sorted by title")
+    void findAll_WithoutCursor_ReturnPageWithNextCursor() {
+        BookDtoWithoutCategories first = new BookDtoWithoutCategories(
+                2L, "Clean Code", "Robert Martin", "1234567891", BigDecimal.TEN, null, null);
+        BookDtoWithoutCategories second = new BookDtoWithoutCategories(
+                1L, "Effective Java", "Joshua Bloch", "1234567890", BigDecimal.TEN, null, null);
+        BookDtoWithoutCategories third = new BookDtoWithoutCategories(
+                3L, "Refactoring", "Martin Fowler", "1234567892", BigDecimal.TEN, null, null);
+
+        when(bookRepository.findDtosByKeyset(isNull(), any(BookKeyset.class), eq(3)))
+                .thenReturn(List.of(first, second, third));
+        when(bookRepository.findCategoryIdsByBookIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(new BookCategoryIdDto(1L, 5L)));
+
+        BookCursorPageDto actual = bookService.findAll(
+                null, PageRequest.of(0, 2, Sort.by("title"))
+        );
+
+        assertThat(actual.books())
+                .extracting(BookDto::getId, BookDto::getCategoryIds)
+                .containsExactly(tuple(2L, List.of()), tuple(1L, List.of(5L)));
+        assertThat(BookKeyset.decode(actual.nextCursor()))
+                .hasFieldOrPropertyWithValue("sortKey", BookKeyset.SortKey.TITLE)
+                .hasFieldOrPropertyWithValue("direction", Sort.Direction.ASC)
+                .hasFieldOrPropertyWithValue("lastValue", "Effective Java")
+                .hasFieldOrPropertyWithValue("lastId", 1L);
+    }
+
+    @Test
+    @DisplayName("Export groups joined category rows into one book each")
+    void exportBooks_RowsPerCategory_AcceptBooksWithCategoryIds() {
+        when(bookRepository.streamAllForExport()).thenReturn(Stream.of(
+                createExportRow(1L, 5L),
+                createExportRow(1L, 6L),
+                createExportRow(2L, null),
+                createExportRow(3L, 5L)
+        ));
+
+        List<BookDto> exported = new ArrayList<>();
+        bookService.exportBooks(exported::add);
+
+        assertThat(exported)
+                .extracting(BookDto::getId, BookDto::getCategoryIds)
+                .containsExactly(
+                        tuple(1L, List.of(5L, 6L)),
+                        tuple(2L, List.of()),
+                        tuple(3L, List.of(5L))
+                );
+    }
+
+    @Test
+    @DisplayName("Find books by non-existent author id")
+    void findBooksByAuthorId_WithInvalidId_ShouldThrowException() {
+        Long id = -1L;
+
+        when(authorRepository.existsById(id)).thenReturn(false);
+
+        assertThatThrownBy(() -> bookService.findBooksByAuthorId(id, null, Pageable.ofSize(10)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Author with id=%d doesn't exist".formatted(id));
+    }
+
+    private BookExportRowDto createExportRow(Long id, Long categoryId) {
+        return new BookExportRowDto(id, "Title " + id, "Author", "123456789" + id,
+                BigDecimal.TEN, null, null, categoryId);
+    }
 }
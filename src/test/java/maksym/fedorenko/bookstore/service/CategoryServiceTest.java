@@ -145,6 +145,7 @@ class CategoryServiceTest {
 
         verify(categoryRepository, times(1)).existsById(id);
         verify(categoryRepository, times(1)).deleteById(id);
+        verify(categoryRepository, times(1)).evictBookCategories();
         verifyNoMoreInteractions(categoryRepository);
     }
 
@@ -0,0 +1,80 @@
+package maksym.fedorenko.bookstore.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import maksym.fedorenko.bookstore.dto.order.CreateOrderRequestDto;
+import maksym.fedorenko.bookstore.dto.order.IdempotencyKeyDto;
+import maksym.fedorenko.bookstore.dto.order.OrderDto;
+import maksym.fedorenko.bookstore.exception.IdempotencyKeyConflictException;
+import maksym.fedorenko.bookstore.model.Order;
+import maksym.fedorenko.bookstore.repository.order.IdempotencyKeyRepository;
+import maksym.fedorenko.bookstore.service.impl.IdempotencyKeyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyServiceTest {
+    private static final String KEY = "6f1c2b1e-order";
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    private IdempotencyKeyService idempotencyKeyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyService = new IdempotencyKeyServiceImpl(
+                idempotencyKeyRepository, objectMapper, Duration.ofHours(1), 100, 2);
+    }
+
+    @Test
+    @DisplayName("Stored response is returned and kept in the front cache")
+    void findResponse_StoredKey_ReturnStoredOrderFromDatabaseOnce() throws Exception {
+        OrderDto order = new OrderDto(7L, 1L, List.of(),
+                LocalDateTime.of(2023, 11, 20, 10, 30), BigDecimal.TEN, Order.Status.NEW);
+        String requestHash = idempotencyKeyService.hash(new CreateOrderRequestDto("Kyiv"));
+        when(idempotencyKeyRepository.findActive(any(), any(), any())).thenReturn(Optional.of(
+                new IdempotencyKeyDto(requestHash, objectMapper.writeValueAsString(order))));
+
+        assertThat(idempotencyKeyService.findResponse(1L, KEY, requestHash)).contains(order);
+        assertThat(idempotencyKeyService.findResponse(1L, KEY, requestHash)).contains(order);
+        verify(idempotencyKeyRepository, times(1)).findActive(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Reusing a key for a different request is rejected")
+    void findResponse_DifferentRequestHash_ShouldThrowException() {
+        String requestHash = idempotencyKeyService.hash(new CreateOrderRequestDto("Kyiv"));
+        when(idempotencyKeyRepository.findActive(any(), any(), any())).thenReturn(Optional.of(
+                new IdempotencyKeyDto(requestHash, "{}")));
+
+        assertThatThrownBy(() -> idempotencyKeyService.findResponse(1L, KEY,
+                idempotencyKeyService.hash(new CreateOrderRequestDto("Lviv"))))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Sweeper deletes expired keys in batches until a partial batch")
+    void deleteExpired_SeveralBatches_DeleteUntilPartialBatch() {
+        when(idempotencyKeyRepository.deleteExpired(any(), anyInt())).thenReturn(2, 2, 1);
+
+        idempotencyKeyService.deleteExpired();
+
+        verify(idempotencyKeyRepository, times(3)).deleteExpired(any(), anyInt());
+    }
+}
@@ -2,6 +2,10 @@ package maksym.fedorenko.bookstore.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -20,7 +24,7 @@ import maksym.fedorenko.bookstore.model.ShoppingCart;
 import maksym.fedorenko.bookstore.repository.BookRepository;
 import maksym.fedorenko.bookstore.repository.CartItemRepository;
 import maksym.fedorenko.bookstore.repository.ShoppingCartRepository;
-import maksym.fedorenko.bookstore.repository.UserRepository;
+import maksym.fedorenko.bookstore.security.UserIdResolver;
 import maksym.fedorenko.bookstore.service.impl.ShoppingCartServiceImpl;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
@@ -30,7 +34,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 public class ShoppingCartServiceTest {
@@ -41,11 +48,14 @@ public class ShoppingCartServiceTest {
     @Mock
     private CartItemRepository cartItemRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserIdResolver userIdResolver;
     @Spy
     private CartItemMapper cartItemMapper = new CartItemMapperImpl();
     @Spy
     private ShoppingCartMapper shoppingCartMapper = new ShoppingCartMapperImpl(cartItemMapper);
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
     @Mock
     private Authentication authentication;
     @InjectMocks
@@ -96,16 +106,16 @@ public class ShoppingCartServiceTest {
         book.setTitle("Test");
 
         CartItem cartItem = new CartItem();
-        cartItem.setShoppingCart(cart);
+        cartItem.setId(1L);
         cartItem.setBook(book);
         cartItem.setQuantity(2);
+        cart.addCartItem(cartItem);
 
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(userIdResolver.getUserId(authentication)).thenReturn(1L);
         when(authentication.getName()).thenReturn(username);
+        when(cartItemRepository.nextId()).thenReturn(10L);
+        when(cartItemRepository.addQuantity(10L, 1L, 1L, 2)).thenReturn(1);
         when(shoppingCartRepository.findByUserEmail(username)).thenReturn(Optional.of(cart));
-        when(cartItemRepository.findByShoppingCartAndBookId(cart, 1L)).thenReturn(Optional.empty());
-        when(bookRepository.getReferenceById(1L)).thenReturn(book);
-        when(cartItemRepository.save(cartItem)).thenReturn(cartItem);
 
         CartDto actual = shoppingCartService.addCartItem(authentication, requestDto);
 
@@ -118,46 +128,52 @@ public class ShoppingCartServiceTest {
                 .hasFieldOrPropertyWithValue("bookId", 1L)
                 .hasFieldOrPropertyWithValue("bookTitle", "Test")
                 .hasFieldOrPropertyWithValue("quantity", 2);
+        verify(bookRepository, never()).existsById(1L);
     }
 
     @Test
-    @DisplayName("Add valid item that already exist in cart")
-    void addCartItem_ValidRequestDtoWithExistentItemInCart_ShouldReturnCartDto() {
+    @DisplayName("Add valid item for user without cart")
+    void addCartItem_UserWithoutCart_ShouldCreateCartAndAddItem() {
         final String username = "user@gmail.com";
         final CreateCartItemRequestDto requestDto = new CreateCartItemRequestDto(1L, 2);
-
         ShoppingCart cart = new ShoppingCart();
         cart.setId(1L);
 
-        Book book = new Book();
-        book.setId(1L);
-        book.setTitle("Test");
+        when(userIdResolver.getUserId(authentication)).thenReturn(1L);
+        when(authentication.getName()).thenReturn(username);
+        when(cartItemRepository.nextId()).thenReturn(10L);
+        when(cartItemRepository.addQuantity(10L, 1L, 1L, 2)).thenReturn(0, 1);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(shoppingCartRepository.findByUserEmail(username)).thenReturn(Optional.of(cart));
 
-        CartItem cartItem = new CartItem();
-        cartItem.setId(1L);
-        cartItem.setShoppingCart(cart);
-        cartItem.setBook(book);
-        cartItem.setQuantity(2);
-        cart.addCartItem(cartItem);
+        CartDto actual = shoppingCartService.addCartItem(authentication, requestDto);
 
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        assertThat(actual).hasFieldOrPropertyWithValue("id", 1L);
+        verify(shoppingCartRepository).insertIfAbsent(1L);
+        verify(cartItemRepository, times(2)).addQuantity(10L, 1L, 1L, 2);
+    }
+
+    @Test
+    @DisplayName("Add item retries after a deadlock")
+    void addCartItem_Deadlock_ShouldRetryAndAddItem() {
+        final String username = "user@gmail.com";
+        final CreateCartItemRequestDto requestDto = new CreateCartItemRequestDto(1L, 2);
+        ShoppingCart cart = new ShoppingCart();
+        cart.setId(1L);
+
+        when(userIdResolver.getUserId(authentication)).thenReturn(1L);
         when(authentication.getName()).thenReturn(username);
+        when(cartItemRepository.nextId()).thenReturn(10L);
+        when(cartItemRepository.addQuantity(10L, 1L, 1L, 2))
+                .thenThrow(new CannotAcquireLockException("Deadlock found"))
+                .thenReturn(1);
         when(shoppingCartRepository.findByUserEmail(username)).thenReturn(Optional.of(cart));
-        when(cartItemRepository.findByShoppingCartAndBookId(cart, 1L))
-                .thenReturn(Optional.of(cartItem));
 
         CartDto actual = shoppingCartService.addCartItem(authentication, requestDto);
 
-        assertThat(actual)
-                .hasFieldOrPropertyWithValue("id", 1L)
-                .extracting(CartDto::cartItems)
-                .asInstanceOf(InstanceOfAssertFactories.list(CartItemDto.class))
-                .hasSize(1)
-                .element(0)
-                .hasFieldOrPropertyWithValue("id", 1L)
-                .hasFieldOrPropertyWithValue("bookId", 1L)
-                .hasFieldOrPropertyWithValue("bookTitle", "Test")
-                .hasFieldOrPropertyWithValue("quantity", 4);
+        assertThat(actual).hasFieldOrPropertyWithValue("id", 1L);
+        verify(cartItemRepository, times(2)).addQuantity(10L, 1L, 1L, 2);
+        verify(shoppingCartRepository, never()).insertIfAbsent(1L);
     }
 
     @Test
@@ -165,6 +181,9 @@ public class ShoppingCartServiceTest {
     void addCartItem_InvalidRequestDtoWithNonExistentBook_ShouldThrowException() {
         CreateCartItemRequestDto requestDto = new CreateCartItemRequestDto(1L, 2);
 
+        when(userIdResolver.getUserId(authentication)).thenReturn(1L);
+        when(cartItemRepository.nextId()).thenReturn(10L);
+        when(cartItemRepository.addQuantity(10L, 1L, 1L, 2)).thenReturn(0);
         when(bookRepository.existsById(1L)).thenReturn(false);
 
         assertThatThrownBy(() -> shoppingCartService.addCartItem(authentication, requestDto))
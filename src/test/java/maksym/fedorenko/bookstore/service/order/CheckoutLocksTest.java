@@ -0,0 +1,71 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CheckoutLocksTest {
+    private static final int CHECKOUTS = 500;
+    private final CheckoutLocks checkoutLocks = new CheckoutLocks(1024, Duration.ofSeconds(30));
+
+    @Test
+    @DisplayName("Parallel checkouts of one user never overlap")
+    void execute_SameUserInParallel_RunOneAtATime() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CHECKOUTS; i++) {
+                results.add(executor.submit(() -> checkoutLocks.execute(1L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    return running.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Checkout of another user is not blocked by a running checkout")
+    void execute_DifferentUsers_DoNotWaitForEachOther() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Boolean> first = executor.submit(() -> checkoutLocks.execute(1L, () -> {
+                started.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            assertThat(checkoutLocks.execute(2L, () -> true)).isTrue();
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package maksym.fedorenko.bookstore.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import maksym.fedorenko.bookstore.dto.order.OrderEventDto;
+import maksym.fedorenko.bookstore.model.Order;
+import maksym.fedorenko.bookstore.repository.order.OrderEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.task.TaskExecutorBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventDispatcherTest {
+    private static final int BATCH_SIZE = 2;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<OrderEventDto> delivered = new CopyOnWriteArrayList<>();
+    @Mock
+    private OrderEventRepository orderEventRepository;
+    private OrderEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Full batches are drained and delivered events are deleted")
+    void dispatch_TwoBatches_DeliverAndDeleteAllEvents() {
+        dispatcher = createDispatcher(delivered::addAll);
+        when(orderEventRepository.claim(any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(createEvent(1L, 10L, 0), createEvent(2L, 11L, 0)))
+                .thenReturn(List.of(createEvent(3L, 10L, 0)));
+
+        dispatcher.dispatch();
+
+        assertThat(delivered)
+                .extracting(OrderEventDto::id)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(orderEventRepository, times(2)).claim(any(), any(), eq(BATCH_SIZE));
+        verify(orderEventRepository, times(3)).delete(anyCollection());
+        assertThat(meterRegistry.get("bookstore.outbox.delivery.lag").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Failed events are retried with backoff")
+    void dispatch_FailingSink_RescheduleEventsWithBackoff() {
+        dispatcher = createDispatcher(events -> {
+            throw new IllegalStateException("Webhook is down");
+        });
+        when(orderEventRepository.claim(any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(createEvent(1L, 10L, 3), createEvent(2L, 10L, 0)))
+                .thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempts = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderEventRepository, times(2)).reschedule(any(), nextAttempts.capture());
+        assertThat(nextAttempts.getAllValues().get(0))
+                .isAfterOrEqualTo(before.plusSeconds(8));
+        assertThat(nextAttempts.getAllValues().get(1))
+                .isAfterOrEqualTo(before.plusSeconds(1))
+                .isBefore(nextAttempts.getAllValues().get(0));
+        verify(orderEventRepository, never()).delete(anyCollection());
+        assertThat(meterRegistry.get("bookstore.outbox.delivery.failures").counter().count())
+                .isEqualTo(2);
+    }
+
+    private OrderEventDispatcher createDispatcher(OrderEventSink sink) {
+        return new OrderEventDispatcher(orderEventRepository, List.of(sink),
+                new TaskExecutorBuilder(), meterRegistry, BATCH_SIZE, 2, Duration.ofMinutes(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(5));
+    }
+
+    private OrderEventDto createEvent(Long id, Long orderId, int attempts) {
+        return new OrderEventDto(id, OrderEventDto.Type.ORDER_CREATED, orderId, 1L,
+                Order.Status.NEW, "{}", LocalDateTime.now(), attempts);
+    }
+}
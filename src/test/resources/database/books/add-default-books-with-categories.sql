@@ -13,3 +13,17 @@ VALUES (1, 1),
        (3, 2),
        (4, 2),
        (5, 1);
+
+INSERT INTO authors(id, name)
+VALUES (1, "Joshua Bloch"),
+       (2, "Robert Martin"),
+       (3, "Raoul-Gabriel Urma"),
+       (4, "Chris Richardson"),
+       (5, "Benjamin Evans");
+
+INSERT INTO books_authors(book_id, author_id)
+VALUES (1, 1),
+       (2, 2),
+       (3, 3),
+       (4, 4),
+       (5, 5);
@@ -4,3 +4,9 @@ VALUES (1, "Effective Java", "Joshua Bloch", "1234567890", 12.99);
 INSERT INTO books_categories(book_id, category_id)
 VALUES (1, 1),
        (1, 2);
+
+INSERT INTO authors(id, name)
+VALUES (1, "Joshua Bloch");
+
+INSERT INTO books_authors(book_id, author_id)
+VALUES (1, 1);
@@ -1,2 +1,8 @@
 INSERT INTO books(id, title, author, isbn, price)
 VALUES (1, "Effective Java", "Joshua Bloch", "1234567890", 12.99);
+
+INSERT INTO authors(id, name)
+VALUES (1, "Joshua Bloch");
+
+INSERT INTO books_authors(book_id, author_id)
+VALUES (1, 1);
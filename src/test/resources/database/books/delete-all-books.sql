@@ -1,2 +1,4 @@
+DELETE FROM books_authors;
+DELETE FROM authors;
 DELETE FROM books_categories;
 DELETE FROM books;
@@ -0,0 +1,10 @@
+INSERT INTO orders(id, user_id, status, total, order_date, shipping_address)
+VALUES (1, 1, 'COMPLETED', 12.99, '2023-11-01 10:00:00', 'Kyiv'),
+       (2, 1, 'DELIVERED', 25.98, '2023-11-02 10:00:00', 'Kyiv'),
+       (3, 1, 'NEW', 12.99, '2023-11-02 10:00:00', 'Kyiv');
+
+INSERT INTO order_items(id, order_id, book_id, quantity, price)
+VALUES (1, 1, 1, 1, 12.99),
+       (2, 2, 1, 1, 12.99),
+       (3, 2, 1, 1, 12.99),
+       (4, 3, 1, 1, 12.99);
@@ -0,0 +1,4 @@
+DELETE FROM order_events;
+DELETE FROM idempotency_keys;
+DELETE FROM order_items;
+DELETE FROM orders;
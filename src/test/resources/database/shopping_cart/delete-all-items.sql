@@ -1,2 +1,4 @@
 DELETE FROM cart_items;
+DELETE FROM books_authors;
+DELETE FROM authors;
 DELETE FROM books;